@@ -0,0 +1,114 @@
+package com.ecommerce.backend.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Compares a JMH JSON result (-rf json) against a committed baseline and exits non-zero
+// when a benchmark got slower, or allocates more per op (-prof gc), beyond the tolerance.
+// A missing baseline is an error too; --record writes the result as the new baseline instead.
+//
+//   args: [--record[=true|false]] <baseline.json> <result.json> [tolerancePercent]
+public class BaselineCheck {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        boolean record = false;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--record") || arg.startsWith("--record=")) {
+                record = !arg.equals("--record=false");
+            } else if (!arg.isBlank()) {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() < 2) {
+            System.err.println("usage: BaselineCheck [--record] <baseline.json> <result.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(positional.get(0));
+        File resultFile = new File(positional.get(1));
+        double tolerance = positional.size() > 2 ? Double.parseDouble(positional.get(2)) / 100.0 : 0.10;
+
+        if (!resultFile.exists()) {
+            System.err.println("No JMH result at " + resultFile + "; run the benchmarks first");
+            System.exit(2);
+        }
+        if (record) {
+            Files.copy(resultFile.toPath(), baselineFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded " + resultFile + " as the baseline at " + baselineFile);
+            return;
+        }
+        if (!baselineFile.exists()) {
+            System.err.println("No baseline at " + baselineFile + "; pass --record to record one");
+            System.exit(2);
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> result = index(mapper.readTree(resultFile));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %s%n", entry.getKey());
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            // Lower is better for time modes, higher for throughput
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            regressions += compare(entry.getKey(), "score",
+                    before.path("primaryMetric").path("score").asDouble(),
+                    after.path("primaryMetric").path("score").asDouble(),
+                    after.path("primaryMetric").path("scoreUnit").asText(),
+                    higherIsBetter, tolerance);
+
+            JsonNode allocBefore = before.path("secondaryMetrics").path(ALLOC_METRIC);
+            JsonNode allocAfter = after.path("secondaryMetrics").path(ALLOC_METRIC);
+            if (!allocBefore.isMissingNode() && !allocAfter.isMissingNode()) {
+                regressions += compare(entry.getKey(), "alloc",
+                        allocBefore.path("score").asDouble(),
+                        allocAfter.path("score").asDouble(),
+                        allocAfter.path("scoreUnit").asText(),
+                        false, tolerance);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " regression(s) beyond " + Math.round(tolerance * 100) + "%");
+            System.exit(1);
+        }
+        System.out.println("No regressions beyond " + Math.round(tolerance * 100) + "%");
+    }
+
+    private static int compare(String name, String metric, double before, double after, String unit,
+                               boolean higherIsBetter, double tolerance) {
+        double change = before == 0 ? 0 : (after - before) / before;
+        boolean regressed = higherIsBetter ? change < -tolerance : change > tolerance;
+        System.out.printf("%-5s %s [%s] %.3f -> %.3f %s (%+.1f%%)%n",
+                regressed ? "WORSE" : "ok", name, metric, before, after, unit, change * 100);
+        return regressed ? 1 : 0;
+    }
+
+    // Benchmark name plus its @Param values identifies a result row
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode node : results) {
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText());
+            node.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            byName.put(key.toString(), node);
+        }
+        return byName;
+    }
+}
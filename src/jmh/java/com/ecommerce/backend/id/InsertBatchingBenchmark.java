@@ -0,0 +1,111 @@
+package com.ecommerce.backend.id;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.BackendApplication;
+import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.repository.CategoryRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Inserting `rows` products in one transaction against an embedded PostgreSQL.
+// batchSize=1 is one round trip per row (what IDENTITY forced on every entity);
+// larger sizes let Hibernate send JDBC batches, which the driver rewrites into
+// multi-row INSERTs (reWriteBatchedInserts).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"100"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private Category category;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        byte[] keyBytes = new byte[64];
+        new Random(42).nextBytes(keyBytes);
+
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "ids.node-id=1",
+                        "ids.jdbc-batch-size=" + batchSize,
+                        "jwt.secret=" + Base64.getEncoder().encodeToString(keyBytes),
+                        "jwt.expiration=3600000",
+                        "stripe.api.key=sk_test_benchmark",
+                        "stripe.webhook.secret=whsec_benchmark",
+                        "ratelimit.enabled=false",
+                        "sql.budget.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Category newCategory = new Category();
+        newCategory.setName("Benchmarks");
+        category = context.getBean(CategoryRepository.class).save(newCategory);
+    }
+
+    @Benchmark
+    public int insertRows() {
+        List<Product> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Product product = new Product();
+            product.setName("Batch product " + i);
+            product.setPrice(9.99);
+            product.setCategory(category);
+            product.setStockQuantity(100);
+            products.add(product);
+        }
+        return transactionTemplate.execute(status -> productRepository.saveAll(products).size());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.backend.security;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// JWT verification cost on the request path: the old triple parse vs a single
+// verification vs a cache hit, plus the whole filter with a cached token.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private String secret;
+    private String token;
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setup() {
+        byte[] keyBytes = new byte[64];
+        new Random(42).nextBytes(keyBytes);
+        secret = Base64.getEncoder().encodeToString(keyBytes);
+
+        cachedJwtUtil = new JwtUtil(secret, 3_600_000L, 10_000, new SimpleMeterRegistry());
+        uncachedJwtUtil = new JwtUtil(secret, 3_600_000L, 0, new SimpleMeterRegistry());
+        token = cachedJwtUtil.generateToken(1L, "benchmark-user", "ROLE_USER");
+
+        // No database: the token carries the uid claim, so neither dependency is touched
+        filter = new JwtAuthenticationFilter(cachedJwtUtil,
+                new UserDetailsServiceImpl(null),
+                new UserRevocationCache(null));
+
+        request = new MockHttpServletRequest("GET", "/api/cart");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    // What validateToken + extractUsername used to do: three parses, key rebuilt each time
+    @Benchmark
+    public String legacyTripleParse() {
+        Claims claims = legacyParse(token);
+        if (legacyParse(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        return claims != null ? legacyParse(token).getSubject() : null;
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncachedJwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachedJwtUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public Object filterCached() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private Claims legacyParse(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.backend.security;
+
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Token issue and verification in JwtUtil (login/register and every authenticated request)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        byte[] keyBytes = new byte[64];
+        new Random(42).nextBytes(keyBytes);
+        // Cache disabled so verify measures the signature check, not a map lookup
+        jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(keyBytes), 3_600_000L, 0,
+                new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(1L, "benchmark-user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(1L, "benchmark-user", "ROLE_USER");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.verifyToken(token);
+    }
+}
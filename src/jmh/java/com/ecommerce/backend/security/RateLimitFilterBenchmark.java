@@ -0,0 +1,72 @@
+package com.ecommerce.backend.security;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Overhead of the rate limiter: raw bucket takes under contention (few hot keys vs many
+// distinct keys) and the full filter for an anonymous request.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimitFilterBenchmark {
+
+    @Param({"16", "100000"})
+    public int distinctKeys;
+
+    private TokenBucketLimiter limiter;
+    private String[] keys;
+    private RateLimitFilter filter;
+
+    @Setup
+    public void setup() {
+        // Generous limits: we measure bookkeeping cost, not rejections
+        limiter = new TokenBucketLimiter(1_000_000, 1_000_000_000);
+        keys = new String[distinctKeys];
+        for (int i = 0; i < distinctKeys; i++) {
+            keys[i] = "u:" + i;
+        }
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicies(List.of(
+                new RateLimitProperties.Policy("products", "/api/products/**", List.of("GET"), 1_000_000, 1_000_000_000),
+                new RateLimitProperties.Policy("default", "/api/**", List.of(), 1_000_000, 1_000_000_000)));
+        filter = new RateLimitFilter(properties, new ObjectMapper());
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    @Benchmark
+    public int filterAnonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/paged");
+        request.setRemoteAddr("10.0.0." + ThreadLocalRandom.current().nextInt(distinctKeys % 250 + 1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
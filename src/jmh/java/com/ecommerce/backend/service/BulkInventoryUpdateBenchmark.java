@@ -0,0 +1,131 @@
+package com.ecommerce.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.BackendApplication;
+import com.ecommerce.backend.dto.StockAdjustmentRequestDTO;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.repository.ProductRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Applying `adjustments` stock deltas against an embedded PostgreSQL seeded with `products` rows.
+// entityPerProduct is today's only way (load, set, flush per product);
+// bulk is InventoryService: a locking SELECT and one UPDATE per chunk.
+// Reported as adjustment batches per second; multiply by `adjustments` for SKUs per second.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInventoryUpdateBenchmark {
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"5000"})
+    private int adjustments;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private ProductRepository productRepository;
+    private TransactionTemplate transactionTemplate;
+    private long[] productIds;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        byte[] keyBytes = new byte[64];
+        random.nextBytes(keyBytes);
+
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "ids.node-id=1",
+                        "jwt.secret=" + Base64.getEncoder().encodeToString(keyBytes),
+                        "jwt.expiration=3600000",
+                        "stripe.api.key=sk_test_benchmark",
+                        "stripe.webhook.secret=whsec_benchmark",
+                        "ratelimit.enabled=false",
+                        "sql.budget.enabled=false",
+                        "analytics.columns.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        inventoryService = context.getBean(InventoryService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (1, 'Benchmarks')");
+        jdbcTemplate.update("INSERT INTO products (id, name, price, stock_quantity, category_id) "
+                + "SELECT g, 'Product ' || g, 9.99, 1000000, 1 FROM generate_series(1, ?) g", products);
+        jdbcTemplate.execute("ANALYZE products");
+        productIds = new long[products];
+        for (int i = 0; i < products; i++) {
+            productIds[i] = i + 1;
+        }
+    }
+
+    @Benchmark
+    public int bulk() {
+        List<StockAdjustmentRequestDTO> request = new ArrayList<>(adjustments);
+        int offset = random.nextInt(products);
+        for (int i = 0; i < adjustments; i++) {
+            request.add(new StockAdjustmentRequestDTO(
+                    productIds[(offset + i) % products], random.nextInt(21) - 10, StockAdjustmentRequestDTO.Mode.DELTA));
+        }
+        return inventoryService.applyAdjustments(request).getUpdated();
+    }
+
+    @Benchmark
+    public int entityPerProduct() {
+        int offset = random.nextInt(products);
+        return transactionTemplate.execute(status -> {
+            int updated = 0;
+            for (int i = 0; i < adjustments; i++) {
+                Product product = productRepository.findById(productIds[(offset + i) % products]).orElseThrow();
+                product.setStockQuantity(product.getStockQuantity() + random.nextInt(21) - 10);
+                productRepository.save(product);
+                updated++;
+            }
+            return updated;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ecommerce.backend.BackendApplication;
+import com.ecommerce.backend.dto.AddToCartRequestDTO;
+import com.ecommerce.backend.dto.OrderResponseDTO;
+import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.repository.CategoryRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.repository.UserRepository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// End-to-end checkout (cart -> order, then payment confirmation) against an embedded
+// PostgreSQL, so the native SKIP LOCKED / unnest statements run as in production.
+// Each invocation is milliseconds long, so the per-invocation cart setup is acceptable here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    @Param({"1", "10"})
+    private int itemsPerOrder;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private CartService cartService;
+    private OrderService orderService;
+    private User user;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+
+        byte[] keyBytes = new byte[64];
+        new Random(42).nextBytes(keyBytes);
+
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "jwt.secret=" + Base64.getEncoder().encodeToString(keyBytes),
+                        "jwt.expiration=3600000",
+                        "stripe.api.key=sk_test_benchmark",
+                        "stripe.webhook.secret=whsec_benchmark",
+                        "ratelimit.enabled=false",
+                        "sql.budget.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        cartService = context.getBean(CartService.class);
+        orderService = context.getBean(OrderService.class);
+
+        User newUser = new User();
+        newUser.setUsername("benchmark-user");
+        newUser.setPassword("not-used");
+        newUser.setRole("ROLE_USER");
+        user = context.getBean(UserRepository.class).save(newUser);
+
+        Category category = new Category();
+        category.setName("Benchmarks");
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(9.99 + i);
+            product.setCategory(category);
+            product.setStockQuantity(Integer.MAX_VALUE / 2);
+            productIds.add(productRepository.save(product).getId());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fillCart() {
+        for (Long productId : productIds) {
+            cartService.addToCart(user, new AddToCartRequestDTO(productId, 1));
+        }
+    }
+
+    @Benchmark
+    public OrderResponseDTO placeOrder() {
+        return orderService.placeOrder(user);
+    }
+
+    @Benchmark
+    public void placeAndPayOrder() {
+        OrderResponseDTO order = orderService.placeOrder(user);
+        orderService.markOrderAsPaid(order.getOrderId());
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
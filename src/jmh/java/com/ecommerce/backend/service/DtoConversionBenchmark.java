@@ -0,0 +1,118 @@
+package com.ecommerce.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ecommerce.backend.dto.CartResponseDTO;
+import com.ecommerce.backend.dto.OrderResponseDTO;
+import com.ecommerce.backend.entity.Cart;
+import com.ecommerce.backend.entity.CartItem;
+import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.Order;
+import com.ecommerce.backend.entity.OrderItem;
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.metrics.BusinessMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Entity -> DTO conversion and cart totals, on detached entities (no database).
+// Run with -prof gc to see bytes allocated per conversion.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private CartService cartService;
+    private OrderService orderService;
+    private User owner;
+    private Cart cart;
+    private Order order;
+
+    @Setup
+    public void setup() {
+        BusinessMetrics metrics = new BusinessMetrics(new SimpleMeterRegistry());
+        // Converters only read the entities passed in, so no repositories are needed
+        cartService = new CartService(null, null, null, metrics);
+        orderService = new OrderService(null, null, null, cartService, null, null, null, null, null, null, metrics);
+
+        owner = new User();
+        owner.setId(1L);
+        owner.setUsername("benchmark-user");
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Benchmarks");
+
+        cart = new Cart();
+        cart.setId(1L);
+        order = new Order();
+        order.setId(1L);
+        order.setStatus(OrderStatus.PENDING);
+
+        List<CartItem> cartItems = new ArrayList<>();
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Product " + i);
+            product.setPrice(9.99 + i);
+            product.setCategory(category);
+            product.setStockQuantity(1000);
+
+            CartItem cartItem = new CartItem();
+            cartItem.setId((long) i + 1);
+            cartItem.setCart(cart);
+            cartItem.setProduct(product);
+            cartItem.setQuantity(1 + i % 3);
+            cartItem.setPriceAtAdd(product.getPrice());
+            cartItems.add(cartItem);
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setId((long) i + 1);
+            orderItem.setOrder(order);
+            orderItem.setProduct(product);
+            orderItem.setQuantity(cartItem.getQuantity());
+            orderItem.setPriceAtOrder(cartItem.getPriceAtAdd());
+            orderItems.add(orderItem);
+        }
+        cart.setItems(cartItems);
+        order.setItems(orderItems);
+        order.setTotalAmount(OrderService.calculateTotal(cartItems));
+    }
+
+    @Benchmark
+    public CartResponseDTO convertCart() {
+        return cartService.convertToCartResponseDTO(cart, owner);
+    }
+
+    @Benchmark
+    public OrderResponseDTO convertOrder() {
+        return orderService.convertToOrderResponseDTO(order, owner);
+    }
+
+    @Benchmark
+    public double cartTotal() {
+        return OrderService.calculateTotal(cart.getItems());
+    }
+}
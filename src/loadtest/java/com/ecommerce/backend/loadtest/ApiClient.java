@@ -0,0 +1,92 @@
+package com.ecommerce.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Thin JSON client over java.net.http that times every call into a StepStats
+class ApiClient {
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    JsonNode get(StepStats step, String path, String token, long intendedStartNanos) {
+        return send(step, request(path, token).GET().build(), intendedStartNanos);
+    }
+
+    JsonNode post(StepStats step, String path, Object body, String token, long intendedStartNanos) {
+        return post(step, path, json(body), Map.of(), token, intendedStartNanos);
+    }
+
+    JsonNode post(StepStats step, String path, String body, Map<String, String> headers, String token,
+                  long intendedStartNanos) {
+        HttpRequest.Builder builder = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        headers.forEach(builder::header);
+        return send(step, builder.build(), intendedStartNanos);
+    }
+
+    String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Latency is measured from the intended start, so queueing in the generator is not hidden
+    private JsonNode send(StepStats step, HttpRequest request, long intendedStartNanos) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - intendedStartNanos;
+            // Redirects and other non-2xx answers are failures too, e.g. a webhook the app did not accept
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                step.recordError(elapsed);
+                throw new StepFailedException(step.name() + " returned " + response.statusCode());
+            }
+            step.recordSuccess(elapsed);
+            String body = response.body();
+            return body == null || body.isEmpty() || !body.startsWith("{") && !body.startsWith("[")
+                    ? objectMapper.nullNode()
+                    : objectMapper.readTree(body);
+        } catch (IOException e) {
+            step.recordError(System.nanoTime() - intendedStartNanos);
+            throw new StepFailedException(step.name() + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StepFailedException(step.name() + " interrupted");
+        }
+    }
+
+    static class StepFailedException extends RuntimeException {
+        StepFailedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.backend.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Collection;
+
+import org.HdrHistogram.Histogram;
+
+// Summary table: throughput, error rate and latency percentiles per step
+class LatencyReport {
+
+    static void print(PrintStream out, Collection<StepStats> steps, Duration measured, long droppedSessions) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("%nMeasured %.0fs, %d sessions dropped (generator saturated)%n", seconds, droppedSessions);
+        out.printf("%-32s %9s %9s %8s %9s %9s %9s %9s%n",
+                "step", "count", "req/s", "err%", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (StepStats step : steps) {
+            Histogram histogram = step.latencies();
+            long count = histogram.getTotalCount();
+            out.printf("%-32s %9d %9.1f %8.2f %9.1f %9.1f %9.1f %9.1f%n",
+                    step.name(),
+                    count,
+                    count / seconds,
+                    count == 0 ? 0.0 : 100.0 * step.errors() / count,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.backend.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line options for LoadTestMain, e.g.
+//   --base-url http://localhost:8080 --rate 20 --duration 300 --warmup 30
+public record LoadTestConfig(
+        String baseUrl,
+        double sessionsPerSecond,
+        Duration duration,
+        Duration warmup,
+        int maxConcurrentSessions,
+        int stripeStubPort,
+        String webhookSecret,
+        long thinkTimeMs,
+        long seed) {
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return new LoadTestConfig(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                Double.parseDouble(options.getOrDefault("rate", "10")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "120"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+                Integer.parseInt(options.getOrDefault("max-sessions", "1000")),
+                // 0 disables the in-process stub (e.g. when pointing at Stripe test mode)
+                Integer.parseInt(options.getOrDefault("stripe-stub-port", "12111")),
+                options.getOrDefault("webhook-secret", "whsec_loadtest"),
+                Long.parseLong(options.getOrDefault("think-ms", "0")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.backend.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// Open-model load generator: shopper sessions arrive as a Poisson process at --rate per
+// second whether or not earlier sessions have finished, so a slow server shows up as
+// latency and errors instead of quietly lowering the offered load.
+//
+//   ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--rate 20 --duration 300"
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        ApiClient client = new ApiClient(config.baseUrl());
+
+        StripeStub stripeStub = null;
+        if (config.stripeStubPort() > 0) {
+            stripeStub = new StripeStub(config.stripeStubPort());
+            stripeStub.start();
+            System.out.println("Stripe stub on http://localhost:" + config.stripeStubPort()
+                    + " (start the app with --stripe.api.base=http://localhost:" + config.stripeStubPort() + ")");
+        }
+
+        // Listing depth to sample pages from; the listing needs a signed-in user
+        long runId = System.currentTimeMillis();
+        StepStats probe = new StepStats("probe");
+        String probeToken = client.post(probe, "/api/auth/register",
+                Map.of("username", "ltprobe" + Long.toString(runId, 36), "password", ShopperSession.PASSWORD,
+                        "role", "USER"), null, System.nanoTime())
+                .path("token").asText();
+        JsonNode firstPage = client.get(probe, "/api/products/paged?page=0&size=20", probeToken, System.nanoTime());
+        int browsablePages = Math.max(1, Math.min(firstPage.path("totalPages").asInt(1), 500));
+
+        ShopperSession.Scenario scenario = new ShopperSession.Scenario(
+                runId,
+                browsablePages,
+                config.thinkTimeMs(),
+                new WebhookSigner(config.webhookSecret()),
+                new ConcurrentLinkedQueue<>(),
+                new StepStats("POST /api/auth/register"),
+                new StepStats("POST /api/auth/login"),
+                new StepStats("GET /api/products/paged"),
+                new StepStats("POST /api/cart/items"),
+                new StepStats("POST /api/orders"),
+                new StepStats("POST /api/payment/create-intent"),
+                new StepStats("POST /api/webhooks/stripe"),
+                new StepStats("session (completed checkout)"));
+
+        ThreadPoolExecutor sessions = new ThreadPoolExecutor(0, config.maxConcurrentSessions(),
+                30, TimeUnit.SECONDS, new SynchronousQueue<>());
+        AtomicLong dropped = new AtomicLong();
+        SplittableRandom arrivals = new SplittableRandom(config.seed());
+
+        long start = System.nanoTime();
+        long warmupEnd = start + config.warmup().toNanos();
+        long end = warmupEnd + config.duration().toNanos();
+        double meanGapNanos = 1_000_000_000.0 / config.sessionsPerSecond();
+        boolean measuring = config.warmup().isZero();
+
+        System.out.printf("Offering %.1f sessions/s to %s for %ds (+%ds warmup)%n",
+                config.sessionsPerSecond(), config.baseUrl(), config.duration().toSeconds(),
+                config.warmup().toSeconds());
+
+        long nextArrival = start;
+        long sessionId = 0;
+        while (nextArrival < end) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && nextArrival >= warmupEnd) {
+                scenario.steps().forEach(StepStats::reset);
+                dropped.set(0);
+                measuring = true;
+            }
+            try {
+                sessions.execute(new ShopperSession(sessionId++, nextArrival, arrivals.split(), client, scenario));
+            } catch (RejectedExecutionException e) {
+                dropped.incrementAndGet();
+            }
+            // Exponential inter-arrival gaps give Poisson arrivals
+            nextArrival += (long) (-Math.log(1 - arrivals.nextDouble()) * meanGapNanos);
+        }
+
+        sessions.shutdown();
+        if (!sessions.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.out.println("Sessions still running after 60s: " + sessions.getActiveCount());
+            sessions.shutdownNow();
+        }
+        if (stripeStub != null) {
+            stripeStub.close();
+        }
+
+        LatencyReport.print(System.out, scenario.steps(), Duration.ofNanos(end - warmupEnd), dropped.get());
+    }
+}
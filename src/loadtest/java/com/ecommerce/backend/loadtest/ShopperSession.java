@@ -0,0 +1,150 @@
+package com.ecommerce.backend.loadtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ecommerce.backend.loadtest.ApiClient.StepFailedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.stripe.Stripe;
+
+// One shopper visit: sign in, browse, fill the cart and (usually) check out and pay.
+// A failed step ends the session; the failure is already counted in that step's stats.
+class ShopperSession implements Runnable {
+
+    static final String PASSWORD = "Loadtest1!";
+
+    private final long id;
+    private final long intendedStartNanos;
+    private final SplittableRandom random;
+    private final ApiClient client;
+    private final Scenario scenario;
+
+    ShopperSession(long id, long intendedStartNanos, SplittableRandom random, ApiClient client, Scenario scenario) {
+        this.id = id;
+        this.intendedStartNanos = intendedStartNanos;
+        this.random = random;
+        this.client = client;
+        this.scenario = scenario;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // Step 1: Returning shoppers log in, new ones register
+            String token;
+            String returning = random.nextInt(100) < 30 ? scenario.registeredUsers().poll() : null;
+            if (returning != null) {
+                token = client.post(scenario.login(), "/api/auth/login",
+                        Map.of("username", returning, "password", PASSWORD), null, intendedStartNanos)
+                        .path("token").asText();
+                scenario.registeredUsers().offer(returning);
+            } else {
+                String username = "lt" + Long.toString(id, 36) + Long.toString(scenario.runId(), 36);
+                token = client.post(scenario.register(), "/api/auth/register",
+                        Map.of("username", username, "password", PASSWORD, "role", "USER"), null,
+                        intendedStartNanos)
+                        .path("token").asText();
+                scenario.registeredUsers().offer(username);
+            }
+
+            // Step 2: Browse a few listing pages, mostly the first ones
+            List<Long> seen = new ArrayList<>();
+            int pageViews = 1 + random.nextInt(4);
+            for (int i = 0; i < pageViews; i++) {
+                int page = (int) Math.floor(Math.pow(random.nextDouble(), 3) * scenario.browsablePages());
+                JsonNode listing = client.get(scenario.browse(),
+                        "/api/products/paged?page=" + page + "&size=20", token, think());
+                listing.path("content").forEach(product -> seen.add(product.path("id").asLong()));
+            }
+            if (seen.isEmpty()) {
+                return;
+            }
+
+            // Step 3: Add 1-3 products (quantities are mostly 1)
+            int lines = 1 + (random.nextInt(100) < 60 ? 0 : random.nextInt(3));
+            for (int i = 0; i < lines; i++) {
+                long productId = seen.get(random.nextInt(seen.size()));
+                int quantity = random.nextInt(100) < 85 ? 1 : 2 + random.nextInt(3);
+                client.post(scenario.addToCart(), "/api/cart/items",
+                        Map.of("productId", productId, "quantity", quantity), token, think());
+            }
+
+            // Step 4: Roughly a third of carts are abandoned
+            if (random.nextInt(100) < 35) {
+                return;
+            }
+            long orderId = client.post(scenario.placeOrder(), "/api/orders", Map.of(), token, think())
+                    .path("orderId").asLong();
+
+            // Step 5: Payment intent (served by the Stripe stub)
+            JsonNode intent = client.post(scenario.createIntent(), "/api/payment/create-intent",
+                    Map.of("orderId", orderId), token, think());
+
+            // Step 6: Stripe confirms the payment via a signed webhook
+            String payload = client.json(paymentSucceededEvent(orderId, intent));
+            long now = Instant.now().getEpochSecond();
+            client.post(scenario.webhook(), "/api/webhooks/stripe", payload,
+                    Map.of("Stripe-Signature", scenario.signer().sign(payload, now)), null, think());
+
+            scenario.session().recordSuccess(System.nanoTime() - intendedStartNanos);
+        } catch (StepFailedException e) {
+            scenario.session().recordError(System.nanoTime() - intendedStartNanos);
+        }
+    }
+
+    // Optional think time between steps; returns the step's start time
+    private long think() {
+        if (scenario.thinkTimeMs() > 0) {
+            LockSupport.parkNanos(scenario.thinkTimeMs() * 1_000_000L);
+        }
+        return System.nanoTime();
+    }
+
+    private Map<String, Object> paymentSucceededEvent(long orderId, JsonNode intent) {
+        Map<String, Object> paymentIntent = new LinkedHashMap<>();
+        paymentIntent.put("id", intent.path("clientSecret").asText("pi_loadtest").split("_secret")[0]);
+        paymentIntent.put("object", "payment_intent");
+        paymentIntent.put("amount", Math.round(intent.path("amount").asDouble() * 100));
+        paymentIntent.put("currency", "usd");
+        paymentIntent.put("status", "succeeded");
+        paymentIntent.put("metadata", Map.of("orderId", String.valueOf(orderId)));
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", "evt_loadtest_" + scenario.runId() + "_" + id);
+        event.put("object", "event");
+        // Must match the SDK's version or the app cannot deserialize data.object
+        event.put("api_version", Stripe.API_VERSION);
+        event.put("created", Instant.now().getEpochSecond());
+        event.put("livemode", false);
+        event.put("pending_webhooks", 1);
+        event.put("type", "payment_intent.succeeded");
+        event.put("data", Map.of("object", paymentIntent));
+        return event;
+    }
+
+    // Shared per-run state: step stats, returning-user pool and settings
+    record Scenario(long runId,
+                    int browsablePages,
+                    long thinkTimeMs,
+                    WebhookSigner signer,
+                    Queue<String> registeredUsers,
+                    StepStats register,
+                    StepStats login,
+                    StepStats browse,
+                    StepStats addToCart,
+                    StepStats placeOrder,
+                    StepStats createIntent,
+                    StepStats webhook,
+                    StepStats session) {
+
+        List<StepStats> steps() {
+            return List.of(register, login, browse, addToCart, placeOrder, createIntent, webhook, session);
+        }
+    }
+}
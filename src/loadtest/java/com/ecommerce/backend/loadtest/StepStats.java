@@ -0,0 +1,48 @@
+package com.ecommerce.backend.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// Latency histogram and error count for one scenario step (e.g. "POST /api/orders")
+class StepStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordSuccess(long nanos) {
+        latencies.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+    }
+
+    // Failed calls are timed too, so a fast-failing server does not look quick
+    void recordError(long nanos) {
+        recordSuccess(nanos);
+        errors.increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+}
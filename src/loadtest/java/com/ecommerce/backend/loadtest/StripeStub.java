@@ -0,0 +1,98 @@
+package com.ecommerce.backend.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Minimal stand-in for api.stripe.com: answers POST /v1/payment_intents with a
+// requires_payment_method intent so PaymentService can run without network access.
+// Start the app with --stripe.api.base=http://localhost:<port> to use it.
+class StripeStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+
+    StripeStub(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.createContext("/v1/payment_intents", this::createPaymentIntent);
+        server.setExecutor(executor);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    private void createPaymentIntent(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, Map.of("error", Map.of("message", "Only POST is stubbed")));
+                return;
+            }
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8));
+
+            Map<String, String> metadata = new HashMap<>();
+            form.forEach((name, value) -> {
+                if (name.startsWith("metadata[") && name.endsWith("]")) {
+                    metadata.put(name.substring("metadata[".length(), name.length() - 1), value);
+                }
+            });
+
+            String id = "pi_loadtest_" + sequence.incrementAndGet();
+            Map<String, Object> intent = new LinkedHashMap<>();
+            intent.put("id", id);
+            intent.put("object", "payment_intent");
+            intent.put("amount", Long.parseLong(form.getOrDefault("amount", "0")));
+            intent.put("currency", form.getOrDefault("currency", "usd"));
+            intent.put("client_secret", id + "_secret_loadtest");
+            intent.put("created", Instant.now().getEpochSecond());
+            intent.put("livemode", false);
+            intent.put("metadata", metadata);
+            intent.put("status", "requires_payment_method");
+            respond(exchange, 200, intent);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Request-Id", "req_loadtest_" + sequence.get());
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
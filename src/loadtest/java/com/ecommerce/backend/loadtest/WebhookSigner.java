@@ -0,0 +1,30 @@
+package com.ecommerce.backend.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Produces a Stripe-Signature header the app's Webhook.constructEvent accepts:
+// t=<unix seconds>,v1=hex(HMAC-SHA256(secret, "<t>.<payload>"))
+class WebhookSigner {
+
+    private final SecretKeySpec key;
+
+    WebhookSigner(String webhookSecret) {
+        this.key = new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    String sign(String payload, long timestampSeconds) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] signature = mac.doFinal((timestampSeconds + "." + payload).getBytes(StandardCharsets.UTF_8));
+            return "t=" + timestampSeconds + ",v1=" + HexFormat.of().formatHex(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+}
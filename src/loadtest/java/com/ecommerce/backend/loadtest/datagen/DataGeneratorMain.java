@@ -0,0 +1,341 @@
+package com.ecommerce.backend.loadtest.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ecommerce.backend.datasource.ShardKeys;
+
+// Fills an empty schema (create it by starting the app once with ddl-auto=update) with
+// a skewed, seed-deterministic dataset loaded through COPY:
+//   - product popularity is Zipfian, prices log-normal, some products out of stock
+//   - order sizes are heavy-tailed (Pareto), repeat buyers are Zipfian too
+//   - order dates span several years with growth over time and a daily cycle
+// The same --seed and counts always produce the same rows, so branches can be compared.
+//
+//   ./mvnw -Ploadtest test-compile exec:exec \
+//     -Dloadtest.main=com.ecommerce.backend.loadtest.datagen.DataGeneratorMain \
+//     -Dloadtest.args="--products 2000000 --users 200000 --orders 1000000 --seed 42 --truncate true"
+public class DataGeneratorMain {
+
+    // Every generated user logs in with this password (the load test's ShopperSession.PASSWORD)
+    static final String PASSWORD = "Loadtest1!";
+
+    // Relative order volume per hour of day
+    private static final double[] HOUR_WEIGHTS = {
+            2, 1, 1, 1, 1, 2, 3, 5, 7, 8, 8, 9, 10, 9, 8, 8, 8, 9, 11, 13, 14, 12, 8, 4};
+
+    private final Map<String, String> options;
+    private final long seed;
+    private final int categories;
+    private final int products;
+    private final int users;
+    private final int orders;
+    private final double cartFraction;
+    private final int years;
+    private final ZipfianSampler productPopularity;
+    private final ZipfianSampler buyerActivity;
+    private final long productStride;
+    private final long userStride;
+    private final LocalDateTime now = LocalDate.now().atStartOfDay();
+    private final double[] cumulativeHourWeights = new double[HOUR_WEIGHTS.length];
+
+    private double[] prices;
+
+    DataGeneratorMain(Map<String, String> options) {
+        this.options = options;
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.categories = Integer.parseInt(options.getOrDefault("categories", "100"));
+        this.products = Integer.parseInt(options.getOrDefault("products", "1000000"));
+        this.users = Integer.parseInt(options.getOrDefault("users", "100000"));
+        this.orders = Integer.parseInt(options.getOrDefault("orders", "500000"));
+        this.cartFraction = Double.parseDouble(options.getOrDefault("cart-fraction", "0.3"));
+        this.years = Integer.parseInt(options.getOrDefault("years", "3"));
+        this.productPopularity = new ZipfianSampler(products,
+                Double.parseDouble(options.getOrDefault("product-skew", "1.0")));
+        // Everyone but the admin (id 1) buys; ranks, stride and modulus all range over the buyers
+        this.buyerActivity = new ZipfianSampler(users - 1,
+                Double.parseDouble(options.getOrDefault("user-skew", "0.8")));
+        this.productStride = stride(products);
+        this.userStride = stride(users - 1);
+
+        double total = 0;
+        for (int hour = 0; hour < HOUR_WEIGHTS.length; hour++) {
+            total += HOUR_WEIGHTS[hour];
+            cumulativeHourWeights[hour] = total;
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        new DataGeneratorMain(options).run();
+    }
+
+    void run() throws SQLException {
+        String url = options.getOrDefault("jdbc-url", "jdbc:postgresql://localhost:5432/ecommerce_db");
+        String user = options.getOrDefault("db-user", "postgres");
+        String password = options.getOrDefault("db-password", System.getenv("DB_PASSWORD"));
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            prepareTables(connection);
+
+            long start = System.nanoTime();
+            generateCategories(connection);
+            generateProducts(connection);
+            generateUsers(connection);
+            generateCarts(connection);
+            generateOrders(connection);
+            connection.commit();
+
+            // Generated ids are small and dense; ids the application assigns are time-based
+            // (far above them), so no sequence needs to move past the generated rows
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE");
+            }
+            System.out.printf("Done in %ds (seed %d)%n", (System.nanoTime() - start) / 1_000_000_000L, seed);
+        }
+    }
+
+    private void prepareTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (Boolean.parseBoolean(options.getOrDefault("truncate", "false"))) {
+                // Every table in the schema, so ledger, outbox, rollups and whatever comes next are
+                // emptied too; shard_buckets is placement config, not data
+                List<String> tables = new ArrayList<>();
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT quote_ident(tablename) FROM pg_tables "
+                        + "WHERE schemaname = current_schema() AND tablename <> 'shard_buckets'")) {
+                    while (rs.next()) {
+                        tables.add(rs.getString(1));
+                    }
+                }
+                statement.execute("TRUNCATE " + String.join(", ", tables) + " RESTART IDENTITY CASCADE");
+                return;
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT (SELECT COUNT(*) FROM products) + (SELECT COUNT(*) FROM users)")) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    throw new IllegalStateException("Tables are not empty; pass --truncate true to replace the data");
+                }
+            }
+        }
+    }
+
+    private void generateCategories(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection, "categories", "id,name,description")) {
+            for (int id = 1; id <= categories; id++) {
+                copy.row(id, "Category " + id, "Generated category " + id);
+            }
+            report("categories", copy.rows());
+        }
+    }
+
+    private void generateProducts(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x70726f64L);
+        prices = new double[products + 1];
+        try (CopyWriter copy = new CopyWriter(connection, "products",
+                "id,name,price,category_id,stock_quantity,image_url")) {
+            for (int id = 1; id <= products; id++) {
+                // Log-normal prices around $25, a long tail of expensive items
+                double price = Math.min(5000, Math.max(0.99, Math.exp(Math.log(25) + random.nextGaussian())));
+                prices[id] = Math.round(price * 100) / 100.0;
+                int stock = random.nextInt(100) < 5 ? 0 : random.nextInt(1, 500);
+                // Category sizes are skewed too: low category ids hold most products
+                int category = 1 + (int) (Math.pow(random.nextDouble(), 2) * categories);
+                copy.row(id, "Product " + id, prices[id], category, stock,
+                        "https://cdn.example.com/products/" + id + ".jpg");
+            }
+            report("products", copy.rows());
+        }
+    }
+
+    private void generateUsers(Connection connection) throws SQLException {
+        // One BCrypt hash shared by everyone; hashing millions of passwords would dominate the run
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        try (CopyWriter copy = new CopyWriter(connection, "users", "id,username,password,role,enabled")) {
+            copy.row(1, "admin", hash, "ROLE_ADMIN", true);
+            for (int id = 2; id <= users; id++) {
+                copy.row(id, "user" + id, hash, "ROLE_USER", true);
+            }
+            report("users", copy.rows());
+        }
+    }
+
+    private void generateCarts(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x63617274L);
+        long cartId = 0;
+        // Carts first (cart_items reference them), then replay the same stream for the items
+        try (CopyWriter copy = new CopyWriter(connection, "carts", "id,user_id,created_at,updated_at")) {
+            for (int userId = 2; userId <= users; userId++) {
+                if (random.nextDouble() < cartFraction) {
+                    LocalDateTime created = now.minusMinutes(random.nextInt(60 * 24 * 30));
+                    copy.row(++cartId, userId, created, created);
+                }
+            }
+            report("carts", copy.rows());
+        }
+
+        random = new SplittableRandom(seed ^ 0x63617274L);
+        SplittableRandom items = new SplittableRandom(seed ^ 0x6974656dL);
+        cartId = 0;
+        long itemId = 0;
+        try (CopyWriter copy = new CopyWriter(connection, "cart_items",
+                "id,cart_id,product_id,quantity,price_at_add")) {
+            for (int userId = 2; userId <= users; userId++) {
+                if (random.nextDouble() < cartFraction) {
+                    random.nextInt(60 * 24 * 30);
+                    cartId++;
+                    int lines = 1 + items.nextInt(5);
+                    for (int line = 0; line < lines; line++) {
+                        int productId = popularProduct(items);
+                        copy.row(++itemId, cartId, productId, quantity(items), prices[productId]);
+                    }
+                }
+            }
+            report("cart_items", copy.rows());
+        }
+    }
+
+    // Orders and their items come from the same random stream; it is replayed so each
+    // table gets its own COPY on the one connection (FKs need both in one transaction)
+    private void generateOrders(Connection connection) throws SQLException {
+        try (CopyWriter copy = new CopyWriter(connection, "orders",
+                "id,user_id,order_date,status,total_amount,paid_at")) {
+            generateOrders(copy, null);
+            report("orders", copy.rows());
+        }
+        try (CopyWriter copy = new CopyWriter(connection, "order_items",
+                "id,order_id,product_id,quantity,price_at_order")) {
+            generateOrders(null, copy);
+            report("order_items", copy.rows());
+        }
+    }
+
+    private void generateOrders(CopyWriter orderCopy, CopyWriter itemCopy) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x6f726465L);
+        long spanMinutes = ChronoUnit.MINUTES.between(now.minusYears(years), now);
+        long itemId = 0;
+        int[] productIds = new int[64];
+        int[] quantities = new int[64];
+
+        for (long sequence = 1; sequence <= orders; sequence++) {
+            int userId = 2 + permute(buyerActivity.sample(random), userStride, users - 1);
+            // The buyer's bucket in the low bits like the application's ids, so webhooks and
+            // lookups by id route to the right shard. The dense sequence stands in for the
+            // Snowflake part: most dates here predate its epoch, and nothing reads it back.
+            long orderId = ShardKeys.orderId(sequence, ShardKeys.bucketOfUser(userId));
+
+            // Volume grows linearly over the period: sqrt(u) puts more orders in recent days
+            long minutesAgo = (long) ((1 - Math.sqrt(random.nextDouble())) * spanMinutes);
+            LocalDateTime date = now.minusMinutes(minutesAgo).truncatedTo(ChronoUnit.DAYS)
+                    .plusHours(hourOfDay(random))
+                    .plusMinutes(random.nextInt(60))
+                    .plusSeconds(random.nextInt(60));
+            String status = status(random, minutesAgo);
+            // Everything past PENDING except cancellations went through payment; the sales
+            // rollups are keyed on paid_at
+            LocalDateTime paidAt = status.equals("PENDING") || status.equals("CANCELLED")
+                    ? null : date.plusMinutes(1 + random.nextInt(30));
+
+            // Pareto(alpha 1.5): ~65% single-line orders, occasionally dozens
+            int lines = (int) Math.min(productIds.length, Math.floor(1 / Math.pow(1 - random.nextDouble(), 1 / 1.5)));
+            double total = 0;
+            for (int line = 0; line < lines; line++) {
+                productIds[line] = popularProduct(random);
+                quantities[line] = quantity(random);
+                total += prices[productIds[line]] * quantities[line];
+            }
+
+            if (orderCopy != null) {
+                orderCopy.row(orderId, userId, date, status, Math.round(total * 100) / 100.0, paidAt);
+            }
+            if (itemCopy != null) {
+                for (int line = 0; line < lines; line++) {
+                    itemCopy.row(++itemId, orderId, productIds[line], quantities[line], prices[productIds[line]]);
+                }
+            }
+        }
+    }
+
+    private int popularProduct(SplittableRandom random) {
+        return 1 + permute(productPopularity.sample(random), productStride, products);
+    }
+
+    // Scatter popularity ranks over ids so popular products are not all low ids.
+    // Multiplying by a stride coprime to n is a cheap bijection on 0..n-1.
+    private static int permute(int rank, long stride, int n) {
+        return (int) (((rank - 1) * stride) % n);
+    }
+
+    private static long stride(int n) {
+        long stride = Math.max(1, 2_654_435_761L % n);
+        while (gcd(stride, n) != 1) {
+            stride++;
+        }
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static int quantity(SplittableRandom random) {
+        if (random.nextInt(100) < 80) {
+            return 1;
+        }
+        return 2 + (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(0.6));
+    }
+
+    private int hourOfDay(SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeHourWeights[cumulativeHourWeights.length - 1];
+        for (int hour = 0; hour < cumulativeHourWeights.length; hour++) {
+            if (target < cumulativeHourWeights[hour]) {
+                return hour;
+            }
+        }
+        return cumulativeHourWeights.length - 1;
+    }
+
+    // Old orders have settled; recent ones are still moving through fulfilment
+    private static String status(SplittableRandom random, long minutesAgo) {
+        int roll = random.nextInt(100);
+        if (minutesAgo > 14 * 24 * 60) {
+            return roll < 93 ? "DELIVERED" : "CANCELLED";
+        }
+        if (roll < 20) {
+            return "PENDING";
+        }
+        if (roll < 40) {
+            return "PAID";
+        }
+        if (roll < 60) {
+            return "PROCESSING";
+        }
+        if (roll < 80) {
+            return "SHIPPED";
+        }
+        return roll < 95 ? "DELIVERED" : "CANCELLED";
+    }
+
+    private static void report(String table, long rows) {
+        System.out.printf("%-12s %,d rows%n", table, rows);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.backend.analytics;
+
+import com.ecommerce.backend.entity.OrderStatus;
+
+// Top-k over order lines: rows with orderDate in [fromMs, toMs), optionally one category
+// and/or status, grouped by product or category, ranked by units or revenue
+public record ColumnarQuery(long fromMs, long toMs, Long categoryId, OrderStatus status,
+                            GroupBy groupBy, Metric metric, int limit) {
+
+    public enum GroupBy {
+        PRODUCT, CATEGORY
+    }
+
+    public enum Metric {
+        UNITS, REVENUE
+    }
+}
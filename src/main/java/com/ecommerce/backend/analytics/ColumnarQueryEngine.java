@@ -0,0 +1,119 @@
+package com.ecommerce.backend.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Filter / group-by / top-k over an OrderLineColumns snapshot.
+// The row range is split into zone-map blocks scanned in parallel on a fork-join pool.
+// Each block is skipped outright when its date range misses the filter, and otherwise
+// scanned as a tight loop over primitive arrays into a per-task hash map.
+public class ColumnarQueryEngine {
+
+    public record Entry(long key, double value) {
+    }
+
+    // Blocks per leaf task
+    private static final int LEAF_BLOCKS = 4;
+
+    private final ForkJoinPool pool;
+
+    public ColumnarQueryEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public List<Entry> topK(OrderLineColumns.Snapshot snapshot, ColumnarQuery query) {
+        int blocks = (snapshot.size + OrderLineColumns.BLOCK_SIZE - 1) / OrderLineColumns.BLOCK_SIZE;
+        LongDoubleHashMap totals = blocks == 0
+                ? new LongDoubleHashMap(16)
+                : pool.invoke(new ScanTask(snapshot, query, 0, blocks));
+
+        // Bounded min-heap: O(groups * log k) instead of sorting every group
+        int k = Math.max(1, query.limit());
+        PriorityQueue<Entry> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Entry::value));
+        totals.forEach((key, value) -> {
+            if (heap.size() < k) {
+                heap.add(new Entry(key, value));
+            } else if (value > heap.peek().value()) {
+                heap.poll();
+                heap.add(new Entry(key, value));
+            }
+        });
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(Comparator.comparingDouble(Entry::value).reversed());
+        return result;
+    }
+
+    private static final class ScanTask extends RecursiveTask<LongDoubleHashMap> {
+
+        private final OrderLineColumns.Snapshot columns;
+        private final ColumnarQuery query;
+        private final int fromBlock;
+        private final int toBlock;
+
+        private ScanTask(OrderLineColumns.Snapshot columns, ColumnarQuery query, int fromBlock, int toBlock) {
+            this.columns = columns;
+            this.query = query;
+            this.fromBlock = fromBlock;
+            this.toBlock = toBlock;
+        }
+
+        @Override
+        protected LongDoubleHashMap compute() {
+            if (toBlock - fromBlock > LEAF_BLOCKS) {
+                int middle = (fromBlock + toBlock) >>> 1;
+                ScanTask left = new ScanTask(columns, query, fromBlock, middle);
+                left.fork();
+                LongDoubleHashMap right = new ScanTask(columns, query, middle, toBlock).compute();
+                LongDoubleHashMap merged = left.join();
+                // Merge the smaller map into the larger one
+                if (merged.size() < right.size()) {
+                    right.addAll(merged);
+                    return right;
+                }
+                merged.addAll(right);
+                return merged;
+            }
+
+            LongDoubleHashMap totals = new LongDoubleHashMap(1024);
+            for (int block = fromBlock; block < toBlock; block++) {
+                if (columns.blockMaxDate[block] < query.fromMs() || columns.blockMinDate[block] >= query.toMs()) {
+                    continue;
+                }
+                int start = block * OrderLineColumns.BLOCK_SIZE;
+                int end = Math.min(columns.size, start + OrderLineColumns.BLOCK_SIZE);
+                scan(start, end, totals);
+            }
+            return totals;
+        }
+
+        private void scan(int start, int end, LongDoubleHashMap totals) {
+            long fromMs = query.fromMs();
+            long toMs = query.toMs();
+            boolean anyCategory = query.categoryId() == null;
+            long category = anyCategory ? 0 : query.categoryId();
+            boolean anyStatus = query.status() == null;
+            byte status = anyStatus ? 0 : (byte) query.status().ordinal();
+            long[] groupKeys = query.groupBy() == ColumnarQuery.GroupBy.PRODUCT ? columns.productId : columns.categoryId;
+            boolean revenue = query.metric() == ColumnarQuery.Metric.REVENUE;
+
+            long[] orderDate = columns.orderDate;
+            long[] categoryId = columns.categoryId;
+            byte[] statuses = columns.status;
+            int[] quantity = columns.quantity;
+            double[] price = columns.price;
+            for (int row = start; row < end; row++) {
+                long date = orderDate[row];
+                if (date < fromMs || date >= toMs
+                        || (!anyCategory && categoryId[row] != category)
+                        || (!anyStatus && statuses[row] != status)) {
+                    continue;
+                }
+                totals.add(groupKeys[row], revenue ? quantity[row] * price[row] : quantity[row]);
+            }
+        }
+    }
+}
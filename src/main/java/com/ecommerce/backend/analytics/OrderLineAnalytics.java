@@ -0,0 +1,249 @@
+package com.ecommerce.backend.analytics;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.id.SnowflakeIdGenerator;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// In-process columnar copy of order_items (joined with order date/status and product category)
+// for admin dashboards, so their ad hoc scans never reach Postgres.
+// Loaded incrementally by order item id from every shard; statuses of PENDING orders are
+// re-checked on each refresh, since payment and cancellation change them after loading.
+@Component
+public class OrderLineAnalytics {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLineAnalytics.class);
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private final OrderLineColumns columns;
+    private final ColumnarQueryEngine engine;
+    private final ForkJoinPool queryPool;
+    private final ExecutorService loader;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final boolean enabled;
+    private final int batchSize;
+    // Ids are time-ordered, but a transaction can commit an item after a later id is already
+    // visible; each refresh re-reads this window of ids below the watermark to catch those
+    private final long overlapIds;
+
+    // Loader-thread state
+    private final long[] watermarks;
+    // Ids already loaded inside each shard's overlap window, pruned by that shard's own watermark
+    private final List<Set<Long>> recentIds = new ArrayList<>();
+    // Rows of PENDING orders, by order id; orders left PENDING past pendingTrackingMs count as abandoned
+    private final Map<Long, PendingOrder> pendingOrders = new HashMap<>();
+    private final long pendingTrackingMs;
+    private volatile LocalDateTime lastRefresh;
+
+    private record PendingOrder(long orderDate, List<Integer> rows) {
+    }
+
+    public OrderLineAnalytics(ShardDataSources shardDataSources,
+                              MeterRegistry meterRegistry,
+                              @Value("${analytics.columns.enabled:false}") boolean enabled,
+                              @Value("${analytics.columns.max-rows:5000000}") int maxRows,
+                              @Value("${analytics.columns.batch-size:50000}") int batchSize,
+                              @Value("${analytics.columns.overlap-ms:60000}") long overlapMs,
+                              @Value("${analytics.columns.pending-tracking-days:7}") int pendingTrackingDays,
+                              @Value("${analytics.columns.query-parallelism:0}") int parallelism) {
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+            jdbcTemplate.setFetchSize(batchSize);
+            shards.add(jdbcTemplate);
+        }
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.overlapIds = overlapMs << SnowflakeIdGenerator.NODE_AND_SEQUENCE_BITS;
+        this.pendingTrackingMs = pendingTrackingDays * 86_400_000L;
+        this.watermarks = new long[shards.size()];
+        shards.forEach(shard -> recentIds.add(new HashSet<>()));
+        // Disabled, it only ever holds one empty block
+        this.columns = new OrderLineColumns(enabled ? 1 << 20 : 0, maxRows);
+        this.queryPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.engine = new ColumnarQueryEngine(queryPool);
+        this.loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("analytics.columns.rows", columns, OrderLineColumns::size)
+                .register(meterRegistry);
+        Gauge.builder("analytics.columns.bytes", columns, OrderLineColumns::memoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public List<ColumnarQueryEngine.Entry> topK(ColumnarQuery query) {
+        return engine.topK(columns.snapshot(), query);
+    }
+
+    public int rows() {
+        return columns.snapshot().size();
+    }
+
+    public long memoryBytes() {
+        return columns.memoryBytes();
+    }
+
+    public LocalDateTime lastRefresh() {
+        return lastRefresh;
+    }
+
+    // The first run loads all history, so the work happens on the loader thread, not the scheduler's
+    @Scheduled(fixedDelayString = "${analytics.columns.refresh-interval-ms:10000}")
+    public void scheduleRefresh() {
+        if (enabled && refreshing.compareAndSet(false, true)) {
+            loader.execute(() -> {
+                try {
+                    refresh();
+                } catch (Exception e) {
+                    log.warn("Analytics refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    private void refresh() {
+        // Step 1: New lines from each shard
+        int loaded = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            loaded += loadNewLines(shard);
+        }
+
+        // Step 2: Orders that stopped being PENDING (on any shard - a bucket move changes the shard)
+        int updated = refreshPendingStatuses();
+
+        columns.publish();
+        lastRefresh = LocalDateTime.now();
+        if (loaded > 0 || updated > 0) {
+            log.debug("Analytics columns: {} lines loaded, {} orders changed status, {} rows", loaded, updated, columns.size());
+        }
+    }
+
+    private int loadNewLines(int shard) {
+        JdbcTemplate jdbcTemplate = shards.get(shard);
+        Set<Long> loadedIds = recentIds.get(shard);
+        long lowerBound = lowerBound(watermarks[shard]);
+        int loaded = 0;
+        while (!columns.isFull()) {
+            long from = lowerBound;
+            List<Long> pageIds = new ArrayList<>(batchSize);
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT oi.id, o.id, oi.product_id, COALESCE(p.category_id, 0), o.order_date, o.status, "
+                        + "oi.quantity, oi.price_at_order "
+                        + "FROM order_items oi "
+                        + "JOIN orders o ON o.id = oi.order_id "
+                        + "LEFT JOIN products p ON p.id = oi.product_id "
+                        + "WHERE oi.id > ? ORDER BY oi.id LIMIT ?");
+                ps.setLong(1, from);
+                ps.setInt(2, batchSize);
+                return ps;
+            }, rs -> {
+                long itemId = rs.getLong(1);
+                pageIds.add(itemId);
+                if (!loadedIds.add(itemId)) {
+                    return;
+                }
+                long orderId = rs.getLong(2);
+                OrderStatus status = OrderStatus.valueOf(rs.getString(6));
+                long orderDate = rs.getTimestamp(5).toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                int row = columns.size();
+                if (columns.append(orderId, rs.getLong(3), rs.getLong(4), orderDate,
+                        (byte) status.ordinal(), rs.getInt(7), rs.getDouble(8))) {
+                    if (status == OrderStatus.PENDING && orderDate >= System.currentTimeMillis() - pendingTrackingMs) {
+                        pendingOrders.computeIfAbsent(orderId, id -> new PendingOrder(orderDate, new ArrayList<>()))
+                                .rows().add(row);
+                    }
+                }
+            });
+            if (pageIds.isEmpty()) {
+                break;
+            }
+            loaded += pageIds.size();
+            lowerBound = pageIds.get(pageIds.size() - 1);
+            watermarks[shard] = Math.max(watermarks[shard], lowerBound);
+            // Forget ids that the next refresh will no longer re-read
+            long keepFrom = lowerBound(watermarks[shard]);
+            loadedIds.removeIf(id -> id < keepFrom);
+            if (pageIds.size() < batchSize) {
+                break;
+            }
+        }
+        if (columns.isFull()) {
+            log.warn("Analytics columns are full ({} rows); raise analytics.columns.max-rows", columns.size());
+        }
+        return loaded;
+    }
+
+    private int refreshPendingStatuses() {
+        long trackFrom = System.currentTimeMillis() - pendingTrackingMs;
+        pendingOrders.values().removeIf(order -> order.orderDate() < trackFrom);
+        if (pendingOrders.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> orderIds = new ArrayList<>(pendingOrders.keySet());
+        int updated = 0;
+        for (int from = 0; from < orderIds.size(); from += batchSize) {
+            Long[] chunk = orderIds.subList(from, Math.min(orderIds.size(), from + batchSize)).toArray(Long[]::new);
+            for (JdbcTemplate jdbcTemplate : shards) {
+                Map<Long, OrderStatus> changed = new HashMap<>();
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT id, status FROM orders WHERE id = ANY(?) AND status <> 'PENDING'");
+                    ps.setArray(1, con.createArrayOf("bigint", chunk));
+                    return ps;
+                }, rs -> {
+                    changed.put(rs.getLong(1), OrderStatus.valueOf(rs.getString(2)));
+                });
+                for (Map.Entry<Long, OrderStatus> entry : changed.entrySet()) {
+                    PendingOrder order = pendingOrders.remove(entry.getKey());
+                    if (order != null) {
+                        order.rows().forEach(row -> columns.setStatus(row, (byte) entry.getValue().ordinal()));
+                        updated++;
+                    }
+                }
+            }
+        }
+        return updated;
+    }
+
+    // Legacy identity ids are not time-ordered and need no overlap
+    private long lowerBound(long watermark) {
+        return watermark > overlapIds ? watermark - overlapIds : watermark;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+        queryPool.shutdownNow();
+    }
+}
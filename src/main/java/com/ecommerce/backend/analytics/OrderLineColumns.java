@@ -0,0 +1,137 @@
+package com.ecommerce.backend.analytics;
+
+import java.util.Arrays;
+
+// Order line facts stored column by column in primitive arrays (about 53 bytes a row,
+// no object per row). Single writer, many readers: rows are appended past `size` and
+// become visible when a new Snapshot is published through the volatile field.
+// Status is the only mutable column; it is updated in place when orders get paid or cancelled.
+public class OrderLineColumns {
+
+    // Rows per zone-map block; a scan skips blocks whose date range misses the filter
+    static final int BLOCK_SIZE = 1 << 14;
+
+    // A consistent view for one query: arrays and how many rows of them are filled
+    public static final class Snapshot {
+        final int size;
+        final long[] orderId;
+        final long[] productId;
+        final long[] categoryId;
+        final long[] orderDate;      // epoch milliseconds
+        final byte[] status;         // OrderStatus ordinal
+        final int[] quantity;
+        final double[] price;
+        final long[] blockMinDate;
+        final long[] blockMaxDate;
+
+        private Snapshot(int size, long[] orderId, long[] productId, long[] categoryId, long[] orderDate,
+                         byte[] status, int[] quantity, double[] price, long[] blockMinDate, long[] blockMaxDate) {
+            this.size = size;
+            this.orderId = orderId;
+            this.productId = productId;
+            this.categoryId = categoryId;
+            this.orderDate = orderDate;
+            this.status = status;
+            this.quantity = quantity;
+            this.price = price;
+            this.blockMinDate = blockMinDate;
+            this.blockMaxDate = blockMaxDate;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private final int maxRows;
+    private volatile Snapshot snapshot;
+
+    // Writer-side state
+    private int size;
+    private long[] orderId;
+    private long[] productId;
+    private long[] categoryId;
+    private long[] orderDate;
+    private byte[] status;
+    private int[] quantity;
+    private double[] price;
+    private long[] blockMinDate;
+    private long[] blockMaxDate;
+
+    public OrderLineColumns(int initialCapacity, int maxRows) {
+        this.maxRows = maxRows;
+        allocate(Math.max(BLOCK_SIZE, initialCapacity));
+        publish();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size >= maxRows;
+    }
+
+    // Writer only. Returns false once maxRows is reached.
+    public boolean append(long order, long product, long category, long date, byte statusOrdinal, int qty, double unitPrice) {
+        if (size >= maxRows) {
+            return false;
+        }
+        if (size == orderId.length) {
+            allocate(Math.min(maxRows, orderId.length * 2));
+        }
+        int row = size;
+        orderId[row] = order;
+        productId[row] = product;
+        categoryId[row] = category;
+        orderDate[row] = date;
+        status[row] = statusOrdinal;
+        quantity[row] = qty;
+        price[row] = unitPrice;
+
+        int block = row / BLOCK_SIZE;
+        if (row % BLOCK_SIZE == 0) {
+            blockMinDate[block] = date;
+            blockMaxDate[block] = date;
+        } else {
+            blockMinDate[block] = Math.min(blockMinDate[block], date);
+            blockMaxDate[block] = Math.max(blockMaxDate[block], date);
+        }
+        size++;
+        return true;
+    }
+
+    // Writer only; readers may see the old or the new status until the next snapshot
+    public void setStatus(int row, byte statusOrdinal) {
+        status[row] = statusOrdinal;
+    }
+
+    // Makes appended rows visible to new queries
+    public void publish() {
+        snapshot = new Snapshot(size, orderId, productId, categoryId, orderDate, status, quantity, price,
+                blockMinDate, blockMaxDate);
+    }
+
+    public long memoryBytes() {
+        long perRow = 5L * Long.BYTES + Byte.BYTES + Integer.BYTES + Double.BYTES;
+        return orderId.length * perRow + 2L * blockMinDate.length * Long.BYTES;
+    }
+
+    // Grows into new arrays, so published snapshots keep reading the old ones undisturbed
+    private void allocate(int capacity) {
+        orderId = orderId == null ? new long[capacity] : Arrays.copyOf(orderId, capacity);
+        productId = productId == null ? new long[capacity] : Arrays.copyOf(productId, capacity);
+        categoryId = categoryId == null ? new long[capacity] : Arrays.copyOf(categoryId, capacity);
+        orderDate = orderDate == null ? new long[capacity] : Arrays.copyOf(orderDate, capacity);
+        status = status == null ? new byte[capacity] : Arrays.copyOf(status, capacity);
+        quantity = quantity == null ? new int[capacity] : Arrays.copyOf(quantity, capacity);
+        price = price == null ? new double[capacity] : Arrays.copyOf(price, capacity);
+        int blocks = (capacity + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        blockMinDate = blockMinDate == null ? new long[blocks] : Arrays.copyOf(blockMinDate, blocks);
+        blockMaxDate = blockMaxDate == null ? new long[blocks] : Arrays.copyOf(blockMaxDate, blocks);
+    }
+}
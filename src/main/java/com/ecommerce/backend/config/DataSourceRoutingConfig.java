@@ -0,0 +1,86 @@
+package com.ecommerce.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ecommerce.backend.datasource.ReadWriteRoutingDataSource;
+import com.ecommerce.backend.datasource.ReadYourWritesTracker;
+import com.ecommerce.backend.datasource.ReplicaPool;
+import com.ecommerce.backend.datasource.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Replaces Boot's single pool with primary + replica pools when datasource.replicas.enabled=true.
+// The pools are not beans themselves (only the routed DataSource is), so each one
+// reports its own hikaricp.* meters under its pool name.
+// Not combined with sharding yet: datasource.shards.enabled takes precedence.
+@Configuration
+@ConditionalOnExpression("${datasource.replicas.enabled:false} and !${datasource.shards.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(ReplicaProperties replicaProperties,
+                                   DataSourceProperties dataSourceProperties,
+                                   MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 1;
+        for (ReplicaProperties.Replica replica : replicaProperties.getNodes()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + index);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername());
+            pool.setPassword(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setConnectionTimeout(2000);
+            // Don't fail startup on a down replica; the health check takes it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(pool.getPoolName(), pool);
+            index++;
+        }
+        return new ReplicaPool(replicas, replicaProperties.getMaxLagSeconds());
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 ReplicaPool replicaPool,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // Same spring.datasource.hikari.* settings Boot would have applied
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        // Lazy proxy: the connection is fetched at the first statement, after the
+        // transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicaPool, readYourWritesTracker));
+    }
+}
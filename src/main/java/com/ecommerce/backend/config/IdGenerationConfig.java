@@ -0,0 +1,43 @@
+package com.ecommerce.backend.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.backend.id.Snowflake;
+import com.ecommerce.backend.id.SnowflakeIdGenerator;
+
+@Configuration
+public class IdGenerationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGenerationConfig.class);
+
+    // Order ids only have room for 6 node bits, so every instance needs an id in 0..63
+    private static final int NODE_BITS = 6;
+
+    // Ids are assigned before the INSERT, so Hibernate can group inserts into JDBC batches.
+    // Explicit spring.jpa.properties.hibernate.* values win over these defaults.
+    @Bean
+    public HibernatePropertiesCustomizer idGenerationHibernateProperties(@Value("${ids.node-id:-1}") long nodeId,
+                                                                         @Value("${ids.jdbc-batch-size:50}") int batchSize) {
+        long resolvedNodeId = nodeId;
+        if (resolvedNodeId < 0) {
+            resolvedNodeId = Snowflake.defaultNodeId(NODE_BITS);
+            log.warn("ids.node-id is not set, using {} derived from host and pid; set a unique value per instance", resolvedNodeId);
+        } else if (resolvedNodeId >= (1L << NODE_BITS)) {
+            throw new IllegalStateException("ids.node-id must be between 0 and " + ((1L << NODE_BITS) - 1));
+        }
+        long finalNodeId = resolvedNodeId;
+
+        return properties -> {
+            properties.put(SnowflakeIdGenerator.NODE_ID_SETTING, String.valueOf(finalNodeId));
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize));
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+        };
+    }
+}
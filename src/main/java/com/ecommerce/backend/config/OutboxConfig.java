@@ -0,0 +1,36 @@
+package com.ecommerce.backend.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ecommerce.backend.outbox.FileOutboxSink;
+import com.ecommerce.backend.outbox.OutboxSink;
+import com.ecommerce.backend.outbox.QueueOutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Built-in outbox sinks, picked with outbox.sink; an OutboxSink bean of your own
+// (e.g. a Kafka producer) replaces them
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    @ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+    public OutboxSink fileOutboxSink(ObjectMapper objectMapper,
+                                     @Value("${outbox.file.path:target/outbox.jsonl}") String path) throws IOException {
+        return new FileOutboxSink(Path.of(path), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    @ConditionalOnProperty(name = "outbox.sink", havingValue = "queue")
+    public QueueOutboxSink queueOutboxSink(@Value("${outbox.queue.capacity:10000}") int capacity) {
+        return new QueueOutboxSink(capacity);
+    }
+}
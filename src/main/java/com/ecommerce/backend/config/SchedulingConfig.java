@@ -0,0 +1,20 @@
+package com.ecommerce.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Boot's scheduler has one thread by default, so a long outbox drain or a replica health
+    // check timing out would hold up every other @Scheduled task; give each task room to run
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer schedulerPoolSize(
+            @Value("${spring.task.scheduling.pool.size:16}") int poolSize) {
+        return scheduler -> scheduler.setPoolSize(poolSize);
+    }
+}
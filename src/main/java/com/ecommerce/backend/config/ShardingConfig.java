@@ -0,0 +1,132 @@
+package com.ecommerce.backend.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.datasource.ShardDirectory;
+import com.ecommerce.backend.datasource.ShardKeys;
+import com.ecommerce.backend.datasource.ShardProperties;
+import com.ecommerce.backend.datasource.ShardQueryExecutor;
+import com.ecommerce.backend.datasource.ShardRebalancer;
+import com.ecommerce.backend.datasource.ShardRoutingDataSource;
+import com.ecommerce.backend.datasource.ShardSchemaInitializer;
+import com.ecommerce.backend.diagnostics.TimingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Shard directory, scatter-gather and rebalancing. With datasource.shards.enabled=false
+// there is a single shard - the application DataSource - and routing is a no-op.
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public ShardDirectory shardDirectory(ShardDataSources shardDataSources) {
+        return new ShardDirectory(shardDataSources);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shardDataSources,
+                                                         ShardDirectory shardDirectory,
+                                                         EntityManagerFactory entityManagerFactory) {
+        return new ShardSchemaInitializer(shardDataSources, shardDirectory, entityManagerFactory);
+    }
+
+    @Bean
+    public ShardQueryExecutor shardQueryExecutor(ShardDataSources shardDataSources,
+                                                 @Value("${datasource.shards.query-timeout-seconds:10}") int queryTimeoutSeconds) {
+        return new ShardQueryExecutor(shardDataSources, queryTimeoutSeconds);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardDataSources shardDataSources,
+                                           ShardDirectory shardDirectory,
+                                           ShardProperties shardProperties) {
+        // Wait out one directory refresh (plus in-flight requests) after freezing a bucket
+        return new ShardRebalancer(shardDataSources, shardDirectory, shardProperties.getDirectoryRefreshMs() + 1000);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "datasource.shards.enabled", havingValue = "false", matchIfMissing = true)
+    static class SingleDatabase {
+
+        @Bean
+        public ShardDataSources shardDataSources(DataSource dataSource) {
+            return new ShardDataSources(List.of(dataSource), false);
+        }
+    }
+
+    // spring.datasource.* becomes shard 0 and each datasource.shards.nodes entry another shard.
+    // As with the replica pools, only the routed DataSource is a bean. The pools are not beans,
+    // so SqlDiagnosticsConfig can't wrap them; each is timed here instead, which covers the
+    // routed traffic and the code that uses a shard directly (outbox, backfill, scatter-gather).
+    @Configuration
+    @ConditionalOnProperty(name = "datasource.shards.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        public ShardDataSources shardDataSources(ShardProperties shardProperties,
+                                                 DataSourceProperties dataSourceProperties,
+                                                 Environment environment,
+                                                 MeterRegistry meterRegistry,
+                                                 ObjectProvider<ObservationRegistry> observationRegistry) {
+            if (shardProperties.getNodes().size() + 1 > ShardKeys.MAX_SHARDS) {
+                throw new IllegalStateException("At most " + ShardKeys.MAX_SHARDS + " shards are supported");
+            }
+            List<DataSource> shards = new ArrayList<>();
+
+            HikariDataSource shard0 = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            // Same spring.datasource.hikari.* settings Boot would have applied
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(shard0));
+            shard0.setPoolName("shard-0");
+            shard0.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(timed(shard0, observationRegistry));
+
+            int index = 1;
+            for (ShardProperties.Shard shard : shardProperties.getNodes()) {
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName("shard-" + index);
+                pool.setJdbcUrl(shard.getUrl());
+                pool.setUsername(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername());
+                pool.setPassword(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword());
+                pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                shards.add(timed(pool, observationRegistry));
+                index++;
+            }
+            return new ShardDataSources(shards, true);
+        }
+
+        private static DataSource timed(DataSource pool, ObjectProvider<ObservationRegistry> observationRegistry) {
+            return new TimingDataSource(pool, () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardDataSources shardDataSources) {
+            // Lazy proxy: the connection is fetched at the first statement, after the
+            // service's @ShardKey has picked the shard
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.all()));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.backend.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.ecommerce.backend.datasource.ShardRoutingDataSource;
+import com.ecommerce.backend.diagnostics.SqlCountingStatementInspector;
+import com.ecommerce.backend.diagnostics.TimingDataSource;
+
+import io.micrometer.observation.ObservationRegistry;
+
+@Configuration
+public class SqlDiagnosticsConfig {
+
+    // Counts every statement Hibernate prepares against the current request
+    @Bean
+    public HibernatePropertiesCustomizer sqlCountingStatementInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCountingStatementInspector());
+    }
+
+    // Times JDBC execution (Hibernate and JdbcTemplate alike) for the per-request DB time
+    // and traces each statement. The registry is looked up lazily: this post-processor
+    // is created before the observation beans exist. The routed shard DataSource is left
+    // alone: its shard pools are timed already (ShardingConfig), and wrapping both would
+    // count every statement twice.
+    @Bean
+    public static BeanPostProcessor timingDataSourcePostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)
+                        && !(bean instanceof LazyConnectionDataSourceProxy proxy
+                                && proxy.getTargetDataSource() instanceof ShardRoutingDataSource)) {
+                    return new TimingDataSource(dataSource,
+                            () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.backend.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import com.ecommerce.backend.diagnostics.tracing.FileSpanExporter;
+import com.ecommerce.backend.diagnostics.tracing.RecentSpanExporter;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+
+// Tracing via Micrometer Observation bridged to OpenTelemetry. Every SpanExporter bean
+// is added to Boot's span processor; sampling is management.tracing.sampling.probability.
+@Configuration
+public class TracingConfig {
+
+    // Enables @Observed on controllers and services
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    // Carries the current span into Spring-managed executors (async MVC, streaming responses)
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.memory.enabled", havingValue = "true", matchIfMissing = true)
+    public RecentSpanExporter recentSpanExporter(@Value("${tracing.exporter.memory.capacity:2000}") int capacity) {
+        return new RecentSpanExporter(capacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.exporter.file.path")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.exporter.file.path}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.backend.controller;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.analytics.ColumnarQuery;
+import com.ecommerce.backend.analytics.OrderLineAnalytics;
+import com.ecommerce.backend.dto.AnalyticsStatusDTO;
+import com.ecommerce.backend.dto.AnalyticsTopEntryDTO;
+import com.ecommerce.backend.entity.OrderStatus;
+
+// Ad hoc dashboard queries over the in-memory order line columns; never touches Postgres
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AdminAnalyticsController {
+
+    private final OrderLineAnalytics orderLineAnalytics;
+
+    public AdminAnalyticsController(OrderLineAnalytics orderLineAnalytics) {
+        this.orderLineAnalytics = orderLineAnalytics;
+    }
+
+    // GET /api/admin/analytics - Rows loaded, memory used and last refresh
+    @GetMapping
+    public ResponseEntity<AnalyticsStatusDTO> getStatus() {
+        return ResponseEntity.ok(new AnalyticsStatusDTO(
+                orderLineAnalytics.rows(), orderLineAnalytics.memoryBytes(), orderLineAnalytics.lastRefresh()));
+    }
+
+    // GET /api/admin/analytics/top?from=2025-01-01&to=2025-04-01&categoryId=3&status=PAID&groupBy=PRODUCT&metric=UNITS&limit=10
+    // Order dates in [from, to); `to` defaults to tomorrow
+    @GetMapping("/top")
+    public ResponseEntity<List<AnalyticsTopEntryDTO>> getTop(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "PRODUCT") ColumnarQuery.GroupBy groupBy,
+            @RequestParam(defaultValue = "UNITS") ColumnarQuery.Metric metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDate end = to != null ? to : LocalDate.now().plusDays(1);
+        ColumnarQuery query = new ColumnarQuery(
+                epochMillis(from), epochMillis(end), categoryId, status, groupBy, metric, Math.min(Math.max(limit, 1), 1000));
+
+        List<AnalyticsTopEntryDTO> result = orderLineAnalytics.topK(query).stream()
+                .map(entry -> new AnalyticsTopEntryDTO(entry.key(), entry.value()))
+                .toList();
+        return ResponseEntity.ok(result);
+    }
+
+    private static long epochMillis(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.backend.controller;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.service.OrderExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+public class AdminExportController {
+
+    private final OrderExportService orderExportService;
+
+    public AdminExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    // GET /api/admin/exports/orders?from=2025-01-01&to=2025-04-01&status=PAID&gzip=true
+    // Orders placed in [from, to) with their items, one CSV line per item
+    @GetMapping("/orders")
+    public void exportOrders(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                             @RequestParam(required = false) OrderStatus status,
+                             @RequestParam(defaultValue = "false") boolean gzip,
+                             HttpServletResponse response) throws IOException {
+        String fileName = "orders-" + from + "-" + to + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        // Written on the request thread, straight to the socket
+        orderExportService.writeCsv(response.getOutputStream(), from.atStartOfDay(), to.atStartOfDay(), status, gzip);
+    }
+}
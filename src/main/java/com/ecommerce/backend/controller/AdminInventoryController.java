@@ -0,0 +1,62 @@
+package com.ecommerce.backend.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.dto.BulkStockAdjustmentRequestDTO;
+import com.ecommerce.backend.dto.BulkStockAdjustmentResultDTO;
+import com.ecommerce.backend.dto.InventoryMovementDTO;
+import com.ecommerce.backend.dto.StockAsOfDTO;
+import com.ecommerce.backend.dto.StockDriftDTO;
+import com.ecommerce.backend.service.InventoryService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/inventory")
+public class AdminInventoryController {
+
+    private final InventoryService inventoryService;
+
+    public AdminInventoryController(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    // POST /api/admin/inventory/adjustments - Absolute or delta stock changes for many products at once
+    @PostMapping("/adjustments")
+    public ResponseEntity<BulkStockAdjustmentResultDTO> applyAdjustments(
+            @Valid @RequestBody BulkStockAdjustmentRequestDTO request) {
+        return ResponseEntity.ok(inventoryService.applyAdjustments(request.getAdjustments()));
+    }
+
+    // GET /api/admin/inventory/products/{id}/stock?at=2025-01-31T18:00:00 - Stock at a point in time
+    @GetMapping("/products/{id}/stock")
+    public ResponseEntity<StockAsOfDTO> getStockAsOf(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(inventoryService.getStockAsOf(id, at != null ? at : LocalDateTime.now()));
+    }
+
+    // GET /api/admin/inventory/products/{id}/movements?limit=100 - Latest ledger entries, newest first
+    @GetMapping("/products/{id}/movements")
+    public ResponseEntity<List<InventoryMovementDTO>> getMovements(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(inventoryService.getMovements(id, Math.min(limit, 1000)));
+    }
+
+    // GET /api/admin/inventory/drift - Products whose stock doesn't match their ledger
+    @GetMapping("/drift")
+    public ResponseEntity<List<StockDriftDTO>> findDrift(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(inventoryService.findDrift(Math.min(limit, 1000)));
+    }
+}
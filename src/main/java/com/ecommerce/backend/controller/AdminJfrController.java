@@ -0,0 +1,51 @@
+package com.ecommerce.backend.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ecommerce.backend.diagnostics.jfr.FlightRecorderService;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class AdminJfrController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public AdminJfrController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    // POST /api/admin/jfr/dump - Download the always-on recording (open in JDK Mission Control)
+    @PostMapping("/dump")
+    public ResponseEntity<StreamingResponseBody> dumpRecording() throws IOException {
+        if (!flightRecorderService.isRecording()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = flightRecorderService.dump();
+        String filename = "ecommerce-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentLength(Files.size(file))
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(body);
+    }
+}
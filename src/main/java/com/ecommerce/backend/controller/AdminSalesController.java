@@ -0,0 +1,54 @@
+package com.ecommerce.backend.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.dto.CategorySalesDTO;
+import com.ecommerce.backend.dto.ProductSalesDTO;
+import com.ecommerce.backend.dto.RollupBackfillResultDTO;
+import com.ecommerce.backend.service.SalesReportService;
+import com.ecommerce.backend.service.SalesRollupBackfillService;
+
+@RestController
+@RequestMapping("/api/admin/sales")
+public class AdminSalesController {
+
+    private final SalesReportService salesReportService;
+    private final SalesRollupBackfillService salesRollupBackfillService;
+
+    public AdminSalesController(SalesReportService salesReportService,
+                                SalesRollupBackfillService salesRollupBackfillService) {
+        this.salesReportService = salesReportService;
+        this.salesRollupBackfillService = salesRollupBackfillService;
+    }
+
+    // GET /api/admin/sales/categories?days=30 - Revenue, units and orders per category
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategorySalesDTO>> getSalesByCategory(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(salesReportService.getSalesByCategory(Math.min(Math.max(days, 1), 366)));
+    }
+
+    // GET /api/admin/sales/products?days=30&limit=20 - Top products by revenue
+    @GetMapping("/products")
+    public ResponseEntity<List<ProductSalesDTO>> getTopProducts(@RequestParam(defaultValue = "30") int days,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(salesReportService.getTopProducts(
+                Math.min(Math.max(days, 1), 366), Math.min(Math.max(limit, 1), 500)));
+    }
+
+    // POST /api/admin/sales/backfill?from=2024-01-01&to=2024-12-31 - Rebuild rollups from order history
+    @PostMapping("/backfill")
+    public ResponseEntity<RollupBackfillResultDTO> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesRollupBackfillService.backfill(from, to != null ? to : LocalDate.now()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.datasource.ShardRebalancer;
+import com.ecommerce.backend.dto.AdminOrderSummaryDTO;
+import com.ecommerce.backend.dto.BucketMoveResultDTO;
+import com.ecommerce.backend.dto.ShardStatusDTO;
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.service.OrderAdminService;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+public class AdminShardController {
+
+    private final OrderAdminService orderAdminService;
+    private final ShardRebalancer shardRebalancer;
+
+    public AdminShardController(OrderAdminService orderAdminService, ShardRebalancer shardRebalancer) {
+        this.orderAdminService = orderAdminService;
+        this.shardRebalancer = shardRebalancer;
+    }
+
+    // GET /api/admin/shards - Buckets and order counts per shard
+    @GetMapping
+    public ResponseEntity<List<ShardStatusDTO>> getShards() {
+        return ResponseEntity.ok(orderAdminService.getShardStatus());
+    }
+
+    // GET /api/admin/shards/orders?status=PENDING&limit=50 - Newest orders across all shards
+    @GetMapping("/orders")
+    public ResponseEntity<List<AdminOrderSummaryDTO>> getRecentOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(orderAdminService.getRecentOrders(status, Math.min(Math.max(limit, 1), 500)));
+    }
+
+    // POST /api/admin/shards/buckets/{bucket}/move?targetShard=2 - Move one bucket's users to another shard
+    @PostMapping("/buckets/{bucket}/move")
+    public ResponseEntity<BucketMoveResultDTO> moveBucket(@PathVariable int bucket,
+                                                          @RequestParam int targetShard) {
+        return ResponseEntity.ok(shardRebalancer.moveBucket(bucket, targetShard));
+    }
+
+    // DELETE /api/admin/shards/{shard}/buckets/{bucket} - Retry the cleanup after a move
+    @DeleteMapping("/{shard}/buckets/{bucket}")
+    public ResponseEntity<Void> purgeBucket(@PathVariable int shard, @PathVariable int bucket) {
+        shardRebalancer.purge(shard, bucket);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.backend.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.diagnostics.SqlStatsRegistry;
+import com.ecommerce.backend.dto.SqlEndpointStatsDTO;
+
+@RestController
+@RequestMapping("/api/admin/sql-stats")
+public class AdminSqlStatsController {
+
+    private final SqlStatsRegistry sqlStatsRegistry;
+
+    public AdminSqlStatsController(SqlStatsRegistry sqlStatsRegistry) {
+        this.sqlStatsRegistry = sqlStatsRegistry;
+    }
+
+    // GET /api/admin/sql-stats - Statement count and DB time per endpoint, slowest first
+    @GetMapping
+    public ResponseEntity<List<SqlEndpointStatsDTO>> getSqlStats() {
+        return ResponseEntity.ok(sqlStatsRegistry.snapshot());
+    }
+
+    // DELETE /api/admin/sql-stats - Reset counters (e.g. before a load test run)
+    @DeleteMapping
+    public ResponseEntity<Void> resetSqlStats() {
+        sqlStatsRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
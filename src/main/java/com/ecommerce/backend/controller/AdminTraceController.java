@@ -0,0 +1,42 @@
+package com.ecommerce.backend.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ecommerce.backend.diagnostics.tracing.RecentSpanExporter;
+import com.ecommerce.backend.diagnostics.tracing.SpanJson;
+
+@RestController
+@RequestMapping("/api/admin/traces")
+public class AdminTraceController {
+
+    private final ObjectProvider<RecentSpanExporter> recentSpanExporter;
+
+    public AdminTraceController(ObjectProvider<RecentSpanExporter> recentSpanExporter) {
+        this.recentSpanExporter = recentSpanExporter;
+    }
+
+    // GET /api/admin/traces?traceId=... - Recently finished (sampled) spans, newest first
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getRecentSpans(
+            @RequestParam(required = false) String traceId,
+            @RequestParam(defaultValue = "200") int limit) {
+        RecentSpanExporter exporter = recentSpanExporter.getIfAvailable();
+        if (exporter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        List<Map<String, Object>> spans = exporter.recent().stream()
+                .filter(span -> traceId == null || traceId.equals(span.getTraceId()))
+                .limit(limit)
+                .map(SpanJson::toMap)
+                .toList();
+        return ResponseEntity.ok(spans);
+    }
+}
@@ -2,7 +2,6 @@ package com.ecommerce.backend.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,11 +16,14 @@ import com.ecommerce.backend.dto.CartResponseDTO;
 import com.ecommerce.backend.dto.UpdateCartItemRequestDTO;
 import com.ecommerce.backend.entity.User;
 import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.security.UserPrincipal;
 import com.ecommerce.backend.service.CartService;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 
 @RestController
+@Observed(name = "cart.controller")
 @RequestMapping("/api/cart")
 public class CartController {
 
@@ -33,18 +35,18 @@ public class CartController {
         this.userRepository = userRepository;
     }
 
-    // Helper method to get current logged-in user
-    private User getCurrentUser(UserDetails userDetails) {
-        return userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Helper method to get current logged-in user: a lazy reference to the row the token
+    // names, so services get a managed User without a lookup
+    private User getCurrentUser(UserPrincipal principal) {
+        return userRepository.getReferenceById(principal.getId());
     }
 
     // POST /api/cart/items - Add item to cart
     @PostMapping("/items")
     public ResponseEntity<CartResponseDTO> addToCart(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody AddToCartRequestDTO request) {
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         CartResponseDTO response = cartService.addToCart(user, request);
         return ResponseEntity.ok(response);
     }
@@ -52,8 +54,8 @@ public class CartController {
     // GET /api/cart - View cart
     @GetMapping
     public ResponseEntity<CartResponseDTO> getCart(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        User user = getCurrentUser(principal);
         CartResponseDTO response = cartService.getCart(user);
         return ResponseEntity.ok(response);
     }
@@ -61,10 +63,10 @@ public class CartController {
     // PUT /api/cart/items/{cartItemId} - Update quantity
     @PutMapping("/items/{cartItemId}")
     public ResponseEntity<CartResponseDTO> updateCartItemQuantity(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long cartItemId,
             @Valid @RequestBody UpdateCartItemRequestDTO request) {
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         CartResponseDTO response = cartService.updateCartItemQuantity(user, cartItemId, request);
         return ResponseEntity.ok(response);
     }
@@ -72,9 +74,9 @@ public class CartController {
     // DELETE /api/cart/items/{cartItemId} - Remove one item
     @DeleteMapping("/items/{cartItemId}")
     public ResponseEntity<CartResponseDTO> removeCartItem(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long cartItemId) {
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         CartResponseDTO response = cartService.removeCartItem(user, cartItemId);
         return ResponseEntity.ok(response);
     }
@@ -83,8 +85,8 @@ public class CartController {
     // DELETE /api/cart - Clear entire cart
     @DeleteMapping
     public ResponseEntity<Void> clearCart(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        User user = getCurrentUser(principal);
         cartService.clearCart(user);
         return ResponseEntity.noContent().build();
     }
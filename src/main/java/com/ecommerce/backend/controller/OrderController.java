@@ -3,9 +3,9 @@ package com.ecommerce.backend.controller;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,35 +13,44 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import com.ecommerce.backend.dto.PagedResponseDTO;
 import com.ecommerce.backend.dto.OrderResponseDTO;
 import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.realtime.OrderStatusStream;
 import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.security.UserPrincipal;
 import com.ecommerce.backend.service.OrderService;
 
+import io.micrometer.observation.annotation.Observed;
+
 @RestController
+@Observed(name = "orders.controller")
 @RequestMapping("/api/orders")
 public class OrderController {
 
     private final OrderService orderService;
     private final UserRepository userRepository;
+    private final OrderStatusStream orderStatusStream;
 
-    public OrderController(OrderService orderService, UserRepository userRepository) {
+    public OrderController(OrderService orderService, OrderStatusStream orderStatusStream, UserRepository userRepository) {
         this.orderService = orderService;
         this.userRepository = userRepository;
+        this.orderStatusStream = orderStatusStream;
     }
 
-    // Helper method to get current logged-in user
-    private User getCurrentUser(UserDetails userDetails) {
-        return userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Helper method to get current logged-in user: a lazy reference to the row the token
+    // names, so services get a managed User without a lookup
+    private User getCurrentUser(UserPrincipal principal) {
+        return userRepository.getReferenceById(principal.getId());
     }
 
     // POST /api/orders - Place order (checkout)
     @PostMapping
     public ResponseEntity<OrderResponseDTO> placeOrder(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        User user = getCurrentUser(principal);
         OrderResponseDTO response = orderService.placeOrder(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
@@ -49,18 +58,25 @@ public class OrderController {
     // GET /api/orders - Get order history
     @GetMapping
     public ResponseEntity<List<OrderResponseDTO>> getOrderHistory(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        User user = getCurrentUser(principal);
         List<OrderResponseDTO> response = orderService.getOrderHistory(user);
         return ResponseEntity.ok(response);
     }
 
+    // GET /api/orders/stream - Status changes of the user's orders as server-sent events.
+    // Subscribe first, then fetch the order once, instead of polling GET /api/orders/{orderId}.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@AuthenticationPrincipal UserPrincipal principal) {
+        return orderStatusStream.subscribe(principal.getId());
+    }
+
     // GET /api/orders/{orderId} - Get specific order
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponseDTO> getOrderById(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long orderId) {
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         OrderResponseDTO response = orderService.getOrderById(user, orderId);
         return ResponseEntity.ok(response);
     }
@@ -69,9 +85,9 @@ public class OrderController {
     // @PatchMapping("/{orderId}/cancel")
     @PostMapping("/{orderId}/cancel")
     public ResponseEntity<OrderResponseDTO> cancelOrder(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @PathVariable Long orderId) {
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         OrderResponseDTO response = orderService.cancelOrder(user, orderId);
         return ResponseEntity.ok(response);
     }
@@ -79,11 +95,11 @@ public class OrderController {
     // GET /api/orders/paged - Get order history with pagination
     @GetMapping("/paged")
     public ResponseEntity<PagedResponseDTO<OrderResponseDTO>> getOrderHistoryPaged(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         PagedResponseDTO<OrderResponseDTO> response = 
                 orderService.getOrderHistory(user, page, size);
         
@@ -2,7 +2,6 @@ package com.ecommerce.backend.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,11 +11,14 @@ import com.ecommerce.backend.dto.PaymentIntentRequestDTO;
 import com.ecommerce.backend.dto.PaymentIntentResponseDTO;
 import com.ecommerce.backend.entity.User;
 import com.ecommerce.backend.repository.UserRepository;
+import com.ecommerce.backend.security.UserPrincipal;
 import com.ecommerce.backend.service.PaymentService;
 
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 
 @RestController
+@Observed(name = "payments.controller")
 @RequestMapping("/api/payment")
 public class PaymentController {
 
@@ -28,19 +30,19 @@ public class PaymentController {
         this.userRepository = userRepository;
     }
 
-    // Helper method to get current logged-in user
-    private User getCurrentUser(UserDetails userDetails) {
-        return userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Helper method to get current logged-in user: a lazy reference to the row the token
+    // names, so services get a managed User without a lookup
+    private User getCurrentUser(UserPrincipal principal) {
+        return userRepository.getReferenceById(principal.getId());
     }
 
     // POST /api/payment/create-intent - Create payment intent for order
     @PostMapping("/create-intent")
     public ResponseEntity<PaymentIntentResponseDTO> createPaymentIntent(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal UserPrincipal principal,
             @Valid @RequestBody PaymentIntentRequestDTO request) {
         
-        User user = getCurrentUser(userDetails);
+        User user = getCurrentUser(principal);
         PaymentIntentResponseDTO response = paymentService.createPaymentIntent(user, request);
         
         return ResponseEntity.ok(response);
@@ -2,6 +2,7 @@ package com.ecommerce.backend.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +12,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.ecommerce.backend.dto.PagedResponseDTO;
 import com.ecommerce.backend.dto.ProductRequestDTO;
 import com.ecommerce.backend.dto.ProductResponseDTO;
+import com.ecommerce.backend.dto.TrendingProductDTO;
+import com.ecommerce.backend.realtime.ProductStockStream;
 import com.ecommerce.backend.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -24,9 +28,11 @@ import jakarta.validation.Valid;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductStockStream productStockStream;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductStockStream productStockStream) {
         this.productService = productService;
+        this.productStockStream = productStockStream;
     }
 
     @GetMapping
@@ -39,6 +45,18 @@ public class ProductController {
         return productService.createProduct(requestDTO);
     }
 
+    // GET /api/products/stock/stream?ids=1,2,3 - Stock changes of these products as server-sent events
+    @GetMapping(path = "/stock/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStock(@RequestParam List<Long> ids) {
+        return productStockStream.subscribe(ids);
+    }
+
+    // GET /api/products/trending?limit=10 - Most viewed products over the last few hours
+    @GetMapping("/trending")
+    public List<TrendingProductDTO> getTrendingProducts(@RequestParam(defaultValue = "10") int limit) {
+        return productService.getTrendingProducts(Math.min(Math.max(limit, 1), 100));
+    }
+
     @GetMapping("/{id}")
     public ProductResponseDTO getProductById(@PathVariable Long id) {
         return productService.getProductById(id);
@@ -1,5 +1,7 @@
 package com.ecommerce.backend.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,23 +11,28 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.ecommerce.backend.service.OrderService;
+import com.ecommerce.backend.diagnostics.jfr.WebhookReceiveEvent;
+import com.ecommerce.backend.metrics.BusinessMetrics;
+import com.ecommerce.backend.service.WebhookInboxService;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
-import com.stripe.model.PaymentIntent;
 import com.stripe.net.Webhook;
 
 @RestController
 @RequestMapping("/api/webhooks")
 public class WebhookController {
 
-    private final OrderService orderService;
+    private static final Logger log = LoggerFactory.getLogger(WebhookController.class);
+
+    private final WebhookInboxService webhookInboxService;
+    private final BusinessMetrics metrics;
 
     @Value("${stripe.webhook.secret}")
     private String webhookSecret;
 
-    public WebhookController(OrderService orderService) {
-        this.orderService = orderService;
+    public WebhookController(WebhookInboxService webhookInboxService, BusinessMetrics metrics) {
+        this.webhookInboxService = webhookInboxService;
+        this.metrics = metrics;
     }
 
     @PostMapping("/stripe")
@@ -33,6 +40,8 @@ public class WebhookController {
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
 
+        WebhookReceiveEvent jfrEvent = new WebhookReceiveEvent();
+        jfrEvent.begin();
         Event event;
 
         // Verify webhook signature
@@ -40,51 +49,34 @@ public class WebhookController {
             event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
         } catch (SignatureVerificationException e) {
             // Invalid signature
+            metrics.webhookEvent("unknown", "invalid_signature");
+            commit(jfrEvent, null, false, false);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Invalid signature");
         }
 
-
-/*
-        // TEMPORARY: Skip signature verification for local testing
-        try {
-            event = Event.GSON.fromJson(payload, Event.class);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("Invalid payload");
-        }
-*/
-
-
-
-
-        // Handle the event
-        if ("payment_intent.succeeded".equals(event.getType())) {
-            PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer()
-                    .getObject()
-                    .orElse(null);
-
-            if (paymentIntent != null) {
-                // Get order ID from metadata
-                String orderIdStr = paymentIntent.getMetadata().get("orderId");
-                
-                if (orderIdStr != null) {
-                    try {
-                        Long orderId = Long.parseLong(orderIdStr);
-                        
-                        // Mark order as paid and reduce stock
-                        orderService.markOrderAsPaid(orderId);
-                        
-                        System.out.println("Payment succeeded for order: " + orderId);
-                    } catch (Exception e) {
-                        System.err.println("Error processing payment: " + e.getMessage());
-                        // Return 200 anyway to acknowledge receipt
-                    }
-                }
-            }
+        // Store the event and ack; WebhookInboxProcessor does the order work.
+        // If this insert fails we return 500 and Stripe retries delivery.
+        boolean stored = webhookInboxService.receive(event, payload);
+        if (stored) {
+            metrics.webhookEvent(event.getType(), "received");
+        } else {
+            metrics.webhookEvent(event.getType(), "duplicate");
+            log.debug("Duplicate webhook event {} ignored", event.getId());
         }
+        commit(jfrEvent, event.getType(), true, !stored);
 
         // Return 200 to acknowledge receipt
         return ResponseEntity.ok("Webhook received");
     }
+
+    private static void commit(WebhookReceiveEvent jfrEvent, String eventType, boolean signatureValid, boolean duplicate) {
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.eventType = eventType;
+            jfrEvent.signatureValid = signatureValid;
+            jfrEvent.duplicate = duplicate;
+            jfrEvent.commit();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Remembers which users committed a write recently so their reads skip the replicas
+// (e.g. GET /api/orders/{id} right after POST /api/orders) until replication catches up
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final Map<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowNanos = windowMs * 1_000_000L;
+    }
+
+    public void recordWrite(long userId) {
+        stickyUntil.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean recentlyWrote(long userId) {
+        Long until = stickyUntil.get(userId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+}
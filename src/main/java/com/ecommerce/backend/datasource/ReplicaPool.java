@@ -0,0 +1,84 @@
+package com.ecommerce.backend.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Health-checked round-robin over the replica pools. A replica that fails its
+// check, or lags more than maxLagSeconds, is skipped until a later check passes.
+public class ReplicaPool {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    // 0 on a primary or a caught-up standby; replay timestamp age while a standby is behind
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> keys;
+    private final long maxLagSeconds;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPool(Map<String, DataSource> replicas, long maxLagSeconds) {
+        this.replicas = replicas;
+        this.keys = List.copyOf(replicas.keySet());
+        this.maxLagSeconds = maxLagSeconds;
+        keys.forEach(key -> healthy.put(key, true));
+    }
+
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    // Next healthy replica key, or null when none is usable (caller falls back to the primary)
+    public String next() {
+        int size = keys.size();
+        for (int i = 0; i < size; i++) {
+            String key = keys.get(Math.floorMod(next.getAndIncrement(), size));
+            if (healthy.get(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    public Map<String, Boolean> health() {
+        return Map.copyOf(healthy);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        replicas.forEach((key, dataSource) -> {
+            boolean ok;
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                ok = lagSeconds <= maxLagSeconds;
+                if (!ok) {
+                    log.warn("Replica {} is {}s behind, routing reads elsewhere", key, Math.round(lagSeconds));
+                }
+            } catch (Exception e) {
+                ok = false;
+                log.warn("Replica {} failed its health check: {}", key, e.getMessage());
+            }
+            Boolean previous = healthy.put(key, ok);
+            if (ok && Boolean.FALSE.equals(previous)) {
+                log.info("Replica {} is healthy again", key);
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+// Read replicas for @Transactional(readOnly = true) work. Off by default: everything
+// uses spring.datasource.*. For a local test, list the primary's own URL as a replica.
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+@Data
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> nodes = new ArrayList<>();
+
+    private long healthCheckIntervalMs = 5000;
+
+    // Replicas further behind than this are skipped until they catch up
+    private long maxLagSeconds = 10;
+
+    // After a user's write commits, their reads stay on the primary this long (read-your-writes)
+    private long readYourWritesMs = 5000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;      // defaults to spring.datasource.username
+        private String password;      // defaults to spring.datasource.password
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.function.Supplier;
+
+// The shard the current thread's next connection should come from.
+// Unset means shard 0, which also holds the reference tables (users, categories, products).
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static int currentOrDefault() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    // Returns the previous value so callers can restore it
+    public static Integer set(Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = set(shard);
+        try {
+            return action.get();
+        } finally {
+            set(previous);
+        }
+    }
+}
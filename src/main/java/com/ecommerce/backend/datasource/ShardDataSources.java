@@ -0,0 +1,42 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+// The physical database of every shard, in shard order.
+// Without sharding this is just the application DataSource, so code that talks to
+// "every shard" (scatter-gather, schema setup) works unchanged on a single database.
+public class ShardDataSources {
+
+    private final List<DataSource> shards;
+    private final boolean dedicatedPools;
+
+    public ShardDataSources(List<DataSource> shards, boolean dedicatedPools) {
+        this.shards = List.copyOf(shards);
+        this.dedicatedPools = dedicatedPools;
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    public List<DataSource> all() {
+        return shards;
+    }
+
+    // Shard 0 owns the reference tables; product stock is always decremented there
+    public DataSource global() {
+        return shards.get(0);
+    }
+
+    // True when the pools are separate from the application DataSource, i.e. JDBC work on
+    // them does not join the caller's JPA transaction
+    public boolean isDedicatedPools() {
+        return dedicatedPools;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Bucket -> shard map. Buckets default to bucket % shardCount; the rebalancer records
+// every moved bucket in shard_buckets on shard 0 and all instances pick it up on refresh.
+// A bucket flagged as moving rejects requests until its move is finished.
+public class ShardDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardDirectory.class);
+
+    private final int shardCount;
+    private final JdbcTemplate globalJdbcTemplate;
+
+    // Replaced wholesale on refresh, so readers never see a half-applied map
+    private volatile int[] bucketToShard;
+    private volatile Set<Integer> movingBuckets = Set.of();
+
+    public ShardDirectory(ShardDataSources shardDataSources) {
+        this.shardCount = shardDataSources.count();
+        this.globalJdbcTemplate = new JdbcTemplate(shardDataSources.global());
+        this.bucketToShard = defaultMap(shardCount);
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardForBucket(int bucket) {
+        return bucketToShard[bucket];
+    }
+
+    public int shardForUser(long userId) {
+        return shardForBucket(ShardKeys.bucketOfUser(userId));
+    }
+
+    public int shardForOrder(long orderId) {
+        return shardForBucket(ShardKeys.bucketOfOrder(orderId));
+    }
+
+    public boolean isMoving(int bucket) {
+        return movingBuckets.contains(bucket);
+    }
+
+    public int[] bucketCounts() {
+        int[] counts = new int[shardCount];
+        for (int shard : bucketToShard) {
+            counts[shard]++;
+        }
+        return counts;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.shards.directory-refresh-ms:5000}")
+    public void refresh() {
+        if (!isSharded()) {
+            return;
+        }
+        try {
+            int[] map = defaultMap(shardCount);
+            Set<Integer> moving = new HashSet<>();
+            globalJdbcTemplate.query("SELECT bucket, shard, moving FROM shard_buckets", rs -> {
+                int bucket = rs.getInt(1);
+                int shard = rs.getInt(2);
+                if (shard >= shardCount) {
+                    // Config lists fewer shards than the map uses - keep the default rather than fail every request
+                    log.error("Bucket {} is mapped to shard {} but only {} shards are configured", bucket, shard, shardCount);
+                    return;
+                }
+                map[bucket] = shard;
+                if (rs.getBoolean(3)) {
+                    moving.add(bucket);
+                }
+            });
+            bucketToShard = map;
+            movingBuckets = Set.copyOf(moving);
+        } catch (Exception e) {
+            // Keep routing with the last known map
+            log.warn("Could not refresh shard directory: {}", e.getMessage());
+        }
+    }
+
+    // Freeze a bucket before moving it
+    public void markMoving(int bucket) {
+        globalJdbcTemplate.update(
+                "INSERT INTO shard_buckets (bucket, shard, moving) VALUES (?, ?, true) "
+                + "ON CONFLICT (bucket) DO UPDATE SET moving = true",
+                bucket, shardForBucket(bucket));
+        refresh();
+    }
+
+    // Point the bucket at its new shard and unfreeze it in one write
+    public void assign(int bucket, int shard) {
+        globalJdbcTemplate.update(
+                "INSERT INTO shard_buckets (bucket, shard, moving) VALUES (?, ?, false) "
+                + "ON CONFLICT (bucket) DO UPDATE SET shard = EXCLUDED.shard, moving = false",
+                bucket, shard);
+        refresh();
+    }
+
+    public void clearMoving(int bucket) {
+        globalJdbcTemplate.update("UPDATE shard_buckets SET moving = false WHERE bucket = ?", bucket);
+        refresh();
+    }
+
+    private static int[] defaultMap(int shardCount) {
+        int[] map = new int[ShardKeys.BUCKETS];
+        for (int bucket = 0; bucket < map.length; bucket++) {
+            map[bucket] = bucket % shardCount;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.backend.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks the service parameter that decides the shard: a User, an order id,
+// or a collection of order ids that all live on one shard.
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.backend.datasource;
+
+// How user-owned rows map to shards.
+// A user hashes to one of BUCKETS logical buckets and the directory maps buckets to
+// shards, so adding a shard means moving buckets rather than rehashing every user.
+// Order ids carry their bucket in the low bits, which lets webhooks find the shard
+// from the id alone.
+public final class ShardKeys {
+
+    public static final int BUCKET_BITS = 10;
+    public static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final long BUCKET_MASK = BUCKETS - 1;
+
+    public static final int MAX_SHARDS = 32;
+
+    private ShardKeys() {
+    }
+
+    public static int bucketOfUser(long userId) {
+        // Scramble first: user ids are sequential and would otherwise fill buckets in order
+        return (int) (mix(userId) & BUCKET_MASK);
+    }
+
+    public static int bucketOfOrder(long orderId) {
+        return (int) (orderId & BUCKET_MASK);
+    }
+
+    public static long orderId(long prefix, int bucket) {
+        return (prefix << BUCKET_BITS) | bucket;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+// User-sharded storage for carts and orders. Off by default: everything lives in
+// spring.datasource.*. When enabled, spring.datasource.* is shard 0 and `nodes` are
+// shards 1..N. See readme "Sharding" for the schema each shard needs.
+@Component
+@ConfigurationProperties(prefix = "datasource.shards")
+@Data
+public class ShardProperties {
+
+    private boolean enabled = false;
+
+    private List<Shard> nodes = new ArrayList<>();
+
+    // How often each instance re-reads the bucket -> shard map written by the rebalancer
+    private long directoryRefreshMs = 5000;
+
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;      // defaults to spring.datasource.username
+        private String password;      // defaults to spring.datasource.password
+        private int maximumPoolSize = 10;
+    }
+}
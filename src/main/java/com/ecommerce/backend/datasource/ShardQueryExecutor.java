@@ -0,0 +1,56 @@
+package com.ecommerce.backend.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+// Scatter-gather for admin queries: runs the same query on every shard in parallel
+// and returns the per-shard results in shard order. Each shard query is a plain
+// autocommit read on that shard's pool, outside any transaction.
+public class ShardQueryExecutor {
+
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final ExecutorService executor;
+
+    public ShardQueryExecutor(ShardDataSources shardDataSources, int queryTimeoutSeconds) {
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+            jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+            jdbcTemplates.add(jdbcTemplate);
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shardDataSources.count(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> List<T> onEachShard(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (JdbcTemplate jdbcTemplate : jdbcTemplates) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(jdbcTemplate), executor));
+        }
+        // join() rethrows the first shard failure; a partial answer would look like missing orders
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    public <T> List<T> queryAll(Function<JdbcTemplate, List<T>> query) {
+        List<T> merged = new ArrayList<>();
+        onEachShard(query).forEach(merged::addAll);
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
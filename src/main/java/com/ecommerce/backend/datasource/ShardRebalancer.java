@@ -0,0 +1,190 @@
+package com.ecommerce.backend.datasource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.dto.BucketMoveResultDTO;
+
+// Moves one bucket (all carts and orders of its users) to another shard.
+// The bucket is frozen first - requests for its users get 503 + Retry-After - then
+// rows are copied with their ids, the directory is switched, and the source rows deleted.
+// A failed copy rolls back on the target and unfreezes the bucket on the source shard.
+public class ShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    // Parents before children on insert, the reverse on delete
+    private static final String[][] TABLES = {
+            {"orders", "user_id = ANY(?)"},
+            {"order_items", "order_id IN (SELECT id FROM orders WHERE user_id = ANY(?))"},
+            {"carts", "user_id = ANY(?)"},
+            {"cart_items", "cart_id IN (SELECT id FROM carts WHERE user_id = ANY(?))"},
+    };
+
+    private final ShardDataSources shardDataSources;
+    private final ShardDirectory directory;
+    private final long settleMs;
+
+    public ShardRebalancer(ShardDataSources shardDataSources, ShardDirectory directory, long settleMs) {
+        this.shardDataSources = shardDataSources;
+        this.directory = directory;
+        this.settleMs = settleMs;
+    }
+
+    public BucketMoveResultDTO moveBucket(int bucket, int targetShard) {
+        if (bucket < 0 || bucket >= ShardKeys.BUCKETS) {
+            throw new IllegalArgumentException("Bucket must be between 0 and " + (ShardKeys.BUCKETS - 1));
+        }
+        if (targetShard < 0 || targetShard >= shardDataSources.count()) {
+            throw new IllegalArgumentException("Unknown shard: " + targetShard);
+        }
+        int sourceShard = directory.shardForBucket(bucket);
+        if (sourceShard == targetShard) {
+            throw new RuntimeException("Bucket " + bucket + " is already on shard " + targetShard);
+        }
+        long startedAt = System.currentTimeMillis();
+
+        // Step 1: Freeze the bucket and give every instance time to see it
+        directory.markMoving(bucket);
+        sleep(settleMs);
+
+        BucketMoveResultDTO result = new BucketMoveResultDTO();
+        result.setBucket(bucket);
+        result.setSourceShard(sourceShard);
+        result.setTargetShard(targetShard);
+        try {
+            // Step 2: Find the bucket's users on the source shard
+            JdbcTemplate source = new JdbcTemplate(shardDataSources.get(sourceShard));
+            Long[] userIds = usersInBucket(source, bucket);
+            result.setUsers(userIds.length);
+
+            // Step 3: Copy their rows in one transaction on the target
+            DataSource targetDataSource = shardDataSources.get(targetShard);
+            JdbcTemplate target = new JdbcTemplate(targetDataSource);
+            new TransactionTemplate(new DataSourceTransactionManager(targetDataSource)).executeWithoutResult(status -> {
+                for (String[] table : TABLES) {
+                    result.getRowsCopied().put(table[0], copy(source, target, table[0], table[1], userIds));
+                }
+            });
+        } catch (RuntimeException e) {
+            directory.clearMoving(bucket);
+            throw e;
+        }
+
+        // Step 4: Switch the bucket over; it is unfrozen in the same write
+        directory.assign(bucket, targetShard);
+
+        // Step 5: Delete the originals. Nothing routes to them any more, so a failure
+        // here only leaves unreachable rows behind
+        try {
+            purge(sourceShard, bucket);
+            result.setSourceCleaned(true);
+        } catch (RuntimeException e) {
+            log.error("Bucket {} moved to shard {} but its rows on shard {} were not deleted: {}",
+                    bucket, targetShard, sourceShard, e.getMessage());
+        }
+
+        result.setDurationMs(System.currentTimeMillis() - startedAt);
+        log.info("Moved bucket {} from shard {} to shard {}: {}", bucket, sourceShard, targetShard, result.getRowsCopied());
+        return result;
+    }
+
+    // Delete a bucket's rows from a shard that no longer owns it (also for retrying a failed cleanup)
+    public void purge(int shard, int bucket) {
+        if (directory.shardForBucket(bucket) == shard) {
+            throw new RuntimeException("Shard " + shard + " still owns bucket " + bucket);
+        }
+        DataSource dataSource = shardDataSources.get(shard);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Long[] userIds = usersInBucket(jdbcTemplate, bucket);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            for (int i = TABLES.length - 1; i >= 0; i--) {
+                String[] table = TABLES[i];
+                jdbcTemplate.update(con -> withUsers(con.prepareStatement(
+                        "DELETE FROM " + table[0] + " WHERE " + table[1]), userIds));
+            }
+        });
+    }
+
+    private static Long[] usersInBucket(JdbcTemplate jdbcTemplate, int bucket) {
+        List<Long> userIds = new ArrayList<>();
+        jdbcTemplate.query("SELECT user_id FROM orders UNION SELECT user_id FROM carts", rs -> {
+            long userId = rs.getLong(1);
+            if (ShardKeys.bucketOfUser(userId) == bucket) {
+                userIds.add(userId);
+            }
+        });
+
+        // Orders from before bucketed ids can't be found by id once they leave shard 0
+        Integer legacy = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT COUNT(*) FROM orders WHERE user_id = ANY(?) AND (id & ?) <> ?");
+            ps.setArray(1, con.createArrayOf("bigint", userIds.toArray()));
+            ps.setLong(2, ShardKeys.BUCKETS - 1);
+            ps.setLong(3, bucket);
+            return ps;
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+        if (legacy != null && legacy > 0) {
+            throw new RuntimeException("Bucket " + bucket + " has " + legacy
+                    + " orders with pre-sharding ids; they can only live on shard 0");
+        }
+        return userIds.toArray(new Long[0]);
+    }
+
+    // Copies rows column-for-column; ON CONFLICT makes a re-run after a crash harmless
+    private static int copy(JdbcTemplate source, JdbcTemplate target, String table, String where, Long[] userIds) {
+        if (userIds.length == 0) {
+            return 0;
+        }
+        List<String> columns = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        source.query(con -> withUsers(con.prepareStatement("SELECT * FROM " + table + " WHERE " + where), userIds),
+                rs -> {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    if (columns.isEmpty()) {
+                        for (int i = 1; i <= meta.getColumnCount(); i++) {
+                            columns.add(meta.getColumnName(i));
+                        }
+                    }
+                    Object[] row = new Object[columns.size()];
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    rows.add(row);
+                });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ") ON CONFLICT DO NOTHING";
+        target.batchUpdate(sql, rows);
+        return rows.size();
+    }
+
+    private static PreparedStatement withUsers(PreparedStatement ps, Long[] userIds) throws SQLException {
+        ps.setArray(1, ps.getConnection().createArrayOf("bigint", userIds));
+        return ps;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shard directory to settle", e);
+        }
+    }
+}
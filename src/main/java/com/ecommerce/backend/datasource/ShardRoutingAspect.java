@@ -0,0 +1,96 @@
+package com.ecommerce.backend.datasource;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.exception.ShardUnavailableException;
+
+// Picks the shard for service methods with a @ShardKey parameter.
+// Runs before the transaction interceptor, so the whole transaction - JPA and
+// JdbcTemplate alike - is on the user's shard.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ShardRoutingAspect {
+
+    private final ShardDirectory directory;
+
+    public ShardRoutingAspect(ShardDirectory directory) {
+        this.directory = directory;
+    }
+
+    @Around("within(com.ecommerce.backend..*) && execution(* *(.., @com.ecommerce.backend.datasource.ShardKey (*), ..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!directory.isSharded()) {
+            return joinPoint.proceed();
+        }
+
+        int shard = resolveShard(shardKey(joinPoint));
+        Integer current = ShardContext.current();
+        if (current != null && current != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The open transaction is pinned to the other shard's connection
+            throw new IllegalStateException("Cross-shard call inside a transaction: shard "
+                    + current + " -> " + shard + " in " + joinPoint.getSignature().toShortString());
+        }
+
+        Integer previous = ShardContext.set(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    private int resolveShard(Object key) {
+        if (key instanceof User user) {
+            return shardForBucket(ShardKeys.bucketOfUser(user.getId()));
+        }
+        if (key instanceof Long orderId) {
+            return shardForBucket(ShardKeys.bucketOfOrder(orderId));
+        }
+        if (key instanceof Collection<?> orderIds && !orderIds.isEmpty()) {
+            Integer shard = null;
+            for (Object orderId : orderIds) {
+                int next = shardForBucket(ShardKeys.bucketOfOrder((Long) orderId));
+                if (shard != null && shard != next) {
+                    throw new IllegalArgumentException("Order ids span several shards; group them by shard first");
+                }
+                shard = next;
+            }
+            return shard;
+        }
+        if (key instanceof Collection<?>) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Unsupported @ShardKey value: " + key);
+    }
+
+    private int shardForBucket(int bucket) {
+        if (directory.isMoving(bucket)) {
+            throw new ShardUnavailableException("This account is being migrated, please retry shortly", 5);
+        }
+        return directory.shardForBucket(bucket);
+    }
+
+    private static Object shardKey(ProceedingJoinPoint joinPoint) {
+        Annotation[][] annotations = ((MethodSignature) joinPoint.getSignature()).getMethod().getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey) {
+                    return joinPoint.getArgs()[i];
+                }
+            }
+        }
+        throw new IllegalStateException("No @ShardKey parameter on " + joinPoint.getSignature());
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.backend.datasource;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import com.ecommerce.backend.entity.Order;
+import com.ecommerce.backend.id.Snowflake;
+import com.ecommerce.backend.id.SnowflakeIdGenerator;
+
+// | 41 bits ms | 6 bits node | 6 bits sequence | 10 bits bucket(user) |.
+// Time-ordered like every other id, and the low bits still locate the shard.
+// 64 orders per ms per node; the node id is shared with SnowflakeIdGenerator.
+public class ShardedOrderIdGenerator implements BeforeExecutionGenerator {
+
+    static final int NODE_BITS = 6;
+    static final int SEQUENCE_BITS = 6;
+
+    private final Snowflake snowflake;
+
+    public ShardedOrderIdGenerator(ShardedOrderId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        this.snowflake = new Snowflake(SnowflakeIdGenerator.nodeId(context, NODE_BITS), NODE_BITS, SEQUENCE_BITS);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner,
+                           Object currentValue, EventType eventType) {
+        Order order = (Order) owner;
+        return ShardKeys.orderId(snowflake.nextId(), ShardKeys.bucketOfUser(order.getUser().getId()));
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.backend.diagnostics;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Opens a SQL stats scope around each request (outermost, so the JWT filter's queries count too),
+// then checks the route's statement budget and looks for N+1 signatures.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private final SqlBudgetProperties properties;
+    private final SqlStatsRegistry registry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public SqlBudgetFilter(SqlBudgetProperties properties, SqlStatsRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+            // Bodyless responses are not committed yet; SqlServerTimingAdvice covers the rest
+            if (properties.isServerTimingHeader() && !response.isCommitted()) {
+                response.setHeader("Server-Timing", serverTiming(stats));
+            }
+        } finally {
+            SqlRequestStats.end();
+        }
+        check(request, stats);
+    }
+
+    static String serverTiming(SqlRequestStats stats) {
+        return String.format("db;dur=%.2f;desc=\"%d statements\"", stats.getDbMillis(), stats.getStatementCount());
+    }
+
+    private void check(HttpServletRequest request, SqlRequestStats stats) {
+        String endpoint = endpoint(request);
+        int budget = budgetFor(request);
+        boolean overBudget = stats.getStatementCount() > budget;
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        boolean nPlusOne = repeated != null && repeated.getValue() >= properties.getRepeatedStatementThreshold();
+
+        registry.record(endpoint, stats, overBudget, nPlusOne);
+
+        if (!overBudget && !nPlusOne) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(endpoint).append(": ");
+        if (overBudget) {
+            message.append(stats.getStatementCount()).append(" SQL statements (budget ").append(budget).append(")");
+        }
+        if (nPlusOne) {
+            if (overBudget) {
+                message.append("; ");
+            }
+            message.append("possible N+1, executed ").append(repeated.getValue())
+                    .append(" times: ").append(repeated.getKey());
+        }
+
+        if (properties.isFailOnViolation()) {
+            throw new SqlBudgetViolationException(message.toString());
+        }
+        log.warn(message.toString());
+    }
+
+    // Uses the matched handler pattern so /api/orders/1 and /api/orders/2 aggregate together
+    private String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String path = pattern != null ? pattern.toString() : request.getRequestURI();
+        return request.getMethod() + " " + path;
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (SqlBudgetProperties.Route route : properties.getRoutes()) {
+            if (!route.getMethods().isEmpty() && !route.getMethods().contains(request.getMethod())) {
+                continue;
+            }
+            if (pathMatcher.match(route.getPattern(), path)) {
+                return route.getMaxStatements();
+            }
+        }
+        return properties.getDefaultMaxStatements();
+    }
+}
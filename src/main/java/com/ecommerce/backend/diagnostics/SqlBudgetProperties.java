@@ -0,0 +1,47 @@
+package com.ecommerce.backend.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-route SQL statement budgets for SqlBudgetFilter. First matching route wins,
+// unmatched requests use defaultMaxStatements.
+@Component
+@ConfigurationProperties(prefix = "sql.budget")
+@Data
+public class SqlBudgetProperties {
+
+    private boolean enabled = true;
+
+    // Throw instead of logging a warning (set in the test profile so regressions fail the build)
+    private boolean failOnViolation = false;
+
+    private int defaultMaxStatements = 20;
+
+    // Same statement shape executed this many times in one request looks like an N+1
+    private int repeatedStatementThreshold = 5;
+
+    // Adds a Server-Timing header with statement count and DB time
+    private boolean serverTimingHeader = true;
+
+    private List<Route> routes = new ArrayList<>(List.of(
+            new Route("/api/products/**", List.of("GET"), 10),
+            new Route("/api/cart/**", List.of(), 15),
+            new Route("/api/orders/**", List.of(), 25)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String pattern;               // Ant-style path pattern
+        private List<String> methods = List.of();  // empty = any method
+        private int maxStatements;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.backend.diagnostics;
+
+// Thrown by SqlBudgetFilter when sql.budget.fail-on-violation is set
+public class SqlBudgetViolationException extends RuntimeException {
+
+    public SqlBudgetViolationException(String message) {
+        super(message);
+    }
+}
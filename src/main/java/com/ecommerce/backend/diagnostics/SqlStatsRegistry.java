@@ -0,0 +1,72 @@
+package com.ecommerce.backend.diagnostics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.dto.SqlEndpointStatsDTO;
+
+// Running SQL totals per endpoint ("GET /api/orders/{orderId}") since startup
+@Component
+public class SqlStatsRegistry {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, SqlRequestStats stats, boolean overBudget, boolean nPlusOne) {
+        EndpointStats endpointStats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        endpointStats.requests.increment();
+        endpointStats.statements.add(stats.getStatementCount());
+        endpointStats.dbNanos.add(stats.getDbNanos());
+        endpointStats.maxStatements.accumulateAndGet(stats.getStatementCount(), Math::max);
+        if (overBudget) {
+            endpointStats.budgetViolations.increment();
+        }
+        if (nPlusOne) {
+            endpointStats.suspectedNPlusOne.increment();
+            Map.Entry<String, Integer> repeated = stats.mostRepeated();
+            endpointStats.lastRepeatedStatement.set(repeated.getKey() + " x" + repeated.getValue());
+        }
+    }
+
+    public List<SqlEndpointStatsDTO> snapshot() {
+        return endpoints.entrySet().stream()
+                .map(entry -> toDTO(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(SqlEndpointStatsDTO::getTotalDbMillis).reversed())
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private SqlEndpointStatsDTO toDTO(String endpoint, EndpointStats stats) {
+        long requests = stats.requests.sum();
+        SqlEndpointStatsDTO dto = new SqlEndpointStatsDTO();
+        dto.setEndpoint(endpoint);
+        dto.setRequests(requests);
+        dto.setAvgStatements(requests == 0 ? 0 : (double) stats.statements.sum() / requests);
+        dto.setMaxStatements(stats.maxStatements.get());
+        dto.setTotalDbMillis(stats.dbNanos.sum() / 1_000_000.0);
+        dto.setAvgDbMillis(requests == 0 ? 0 : stats.dbNanos.sum() / 1_000_000.0 / requests);
+        dto.setBudgetViolations(stats.budgetViolations.sum());
+        dto.setSuspectedNPlusOne(stats.suspectedNPlusOne.sum());
+        dto.setLastRepeatedStatement(stats.lastRepeatedStatement.get());
+        return dto;
+    }
+
+    private static final class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder dbNanos = new LongAdder();
+        final AtomicInteger maxStatements = new AtomicInteger();
+        final LongAdder budgetViolations = new LongAdder();
+        final LongAdder suspectedNPlusOne = new LongAdder();
+        final AtomicReference<String> lastRepeatedStatement = new AtomicReference<>();
+    }
+}
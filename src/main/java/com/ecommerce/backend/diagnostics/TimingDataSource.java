@@ -0,0 +1,149 @@
+package com.ecommerce.backend.diagnostics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+// Wraps the pool so every execute* call adds its wall time to the current request's DB time
+// and, inside a traced operation, gets its own "jdbc.execute" span.
+// Extends DelegatingDataSource so Boot can still unwrap the Hikari pool for its metrics.
+public class TimingDataSource extends DelegatingDataSource {
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+
+    public TimingDataSource(DataSource targetDataSource) {
+        this(targetDataSource, () -> ObservationRegistry.NOOP);
+    }
+
+    public TimingDataSource(DataSource targetDataSource, Supplier<ObservationRegistry> observationRegistry) {
+        super(targetDataSource);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TimingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection, observationRegistry.get()));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final ObservationRegistry observationRegistry;
+
+        ConnectionHandler(Connection target, ObservationRegistry observationRegistry) {
+            this.target = target;
+            this.observationRegistry = observationRegistry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(target)) {
+                return target;
+            }
+            Object result = TimingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(
+                        TimingDataSource.class.getClassLoader(),
+                        new Class<?>[] {type},
+                        new StatementHandler(statement, proxy, observationRegistry,
+                                args != null && args.length > 0 && args[0] instanceof String sql ? sql : null));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Object connectionProxy;
+        private final ObservationRegistry observationRegistry;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, Object connectionProxy, ObservationRegistry observationRegistry,
+                         String preparedSql) {
+            this.target = target;
+            this.connectionProxy = connectionProxy;
+            this.observationRegistry = observationRegistry;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getConnection".equals(method.getName())) {
+                return connectionProxy;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return TimingDataSource.invoke(target, method, args);
+            }
+
+            SqlRequestStats stats = SqlRequestStats.current();
+            Observation observation = startObservation(method, args);
+            long start = System.nanoTime();
+            try (Observation.Scope scope = observation.openScope()) {
+                return TimingDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                if (stats != null) {
+                    stats.recordExecution(System.nanoTime() - start);
+                }
+                observation.stop();
+            }
+        }
+
+        // Only statements inside an existing trace get spans; pool housekeeping and
+        // untraced background work would otherwise start a new trace per statement
+        private Observation startObservation(Method method, Object[] args) {
+            if (observationRegistry.getCurrentObservation() == null) {
+                return Observation.NOOP;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String statementSql
+                    ? statementSql
+                    : preparedSql;
+            return Observation.createNotStarted("jdbc.execute", observationRegistry)
+                    .contextualName("jdbc " + method.getName())
+                    .lowCardinalityKeyValue("db.system", "postgresql")
+                    .lowCardinalityKeyValue("db.operation", method.getName())
+                    .highCardinalityKeyValue("db.statement", sql != null ? sql : "")
+                    .start();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.ecommerce.Checkout")
+@Label("Checkout")
+@Category({"E-commerce", "Orders"})
+@Description("OrderService.placeOrder: cart converted to an order")
+@Threshold("50 ms")
+public class CheckoutEvent extends Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Cart Items")
+    public int cartItems;
+
+    @Label("Total Amount")
+    public double totalAmount;
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
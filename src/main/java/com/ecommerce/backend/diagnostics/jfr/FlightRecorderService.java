@@ -0,0 +1,96 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.EventSettings;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+// Keeps a bounded, always-on recording (GC, locks, I/O from the JDK settings plus the
+// application events above their thresholds) that can be dumped on demand.
+@Service
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final Map<String, Class<? extends Event>> EVENTS = Map.of(
+            "checkout", CheckoutEvent.class,
+            "mark-paid", MarkPaidEvent.class,
+            "payment-intent", PaymentIntentEvent.class,
+            "jwt-verification", JwtVerificationEvent.class,
+            "webhook-receive", WebhookReceiveEvent.class,
+            "webhook-batch", WebhookBatchEvent.class
+    );
+
+    private final JfrProperties properties;
+    private Recording recording;
+
+    public FlightRecorderService(JfrProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled() || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            recording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+        } catch (IOException | ParseException e) {
+            log.warn("Could not load JFR settings '{}', flight recording disabled", properties.getSettings(), e);
+            return;
+        }
+        recording.setName("ecommerce-always-on");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSizeMb() * 1024 * 1024);
+
+        EVENTS.forEach((key, eventClass) -> {
+            FlightRecorder.register(eventClass);
+            EventSettings settings = recording.enable(eventClass.getAnnotation(Name.class).value());
+            // Unconfigured events keep their @Threshold default
+            Duration threshold = properties.getThresholds().get(key);
+            if (threshold != null) {
+                settings.withThreshold(threshold);
+            }
+        });
+        recording.start();
+        log.info("JFR recording started (settings={}, maxAge={}, thresholds={})",
+                properties.getSettings(), properties.getMaxAge(), properties.getThresholds());
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    // Writes what the ring buffer currently holds to a temp file; the caller deletes it
+    public Path dump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+        Path file = Files.createTempFile("ecommerce-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+// Always-on flight recording. Thresholds override the @Threshold defaults on the
+// event classes; only events slower than their threshold are written.
+@Component
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+@Data
+public class JfrProperties {
+
+    private boolean enabled = true;
+
+    // Built-in JFR configuration to start from: "default" (~1% overhead) or "profile"
+    private String settings = "default";
+
+    private Duration maxAge = Duration.ofMinutes(30);
+
+    private long maxSizeMb = 100;
+
+    // Keyed by event: checkout, mark-paid, payment-intent, jwt-verification, webhook-receive, webhook-batch
+    private Map<String, Duration> thresholds = new LinkedHashMap<>(Map.of(
+            "checkout", Duration.ofMillis(50),
+            "mark-paid", Duration.ofMillis(50),
+            "payment-intent", Duration.ofMillis(500),
+            "jwt-verification", Duration.ofMillis(5),
+            "webhook-receive", Duration.ofMillis(50),
+            "webhook-batch", Duration.ofMillis(500)
+    ));
+}
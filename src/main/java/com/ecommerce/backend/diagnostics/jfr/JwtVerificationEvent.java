@@ -0,0 +1,25 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Runs on every authenticated request, so no stack trace and a threshold well above a cache hit
+@Name("com.ecommerce.JwtVerification")
+@Label("JWT Verification")
+@Category({"E-commerce", "Security"})
+@Description("JwtUtil.verifyToken")
+@StackTrace(false)
+@Threshold("5 ms")
+public class JwtVerificationEvent extends Event {
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.ecommerce.MarkPaid")
+@Label("Mark Orders Paid")
+@Category({"E-commerce", "Orders"})
+@Description("OrderService.markOrdersAsPaid: row locks, stock check and decrement for a batch")
+@Threshold("50 ms")
+public class MarkPaidEvent extends Event {
+
+    @Label("Orders")
+    public int orders;
+
+    @Label("Order Items")
+    public int items;
+
+    @Label("Products Locked")
+    public int productsLocked;
+
+    @Label("Stock Conflicts")
+    @Description("Orders rejected for insufficient stock")
+    public int stockConflicts;
+
+    @Label("Failures")
+    public int failures;
+}
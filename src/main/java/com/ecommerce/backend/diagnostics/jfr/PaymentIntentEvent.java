@@ -0,0 +1,26 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+// Spans only the Stripe call, so its duration is the remote latency
+@Name("com.ecommerce.PaymentIntent")
+@Label("Stripe PaymentIntent.create")
+@Category({"E-commerce", "Payments"})
+@Description("Remote call to Stripe from PaymentService.createPaymentIntent")
+@Threshold("500 ms")
+public class PaymentIntentEvent extends Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Amount (cents)")
+    public long amountInCents;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
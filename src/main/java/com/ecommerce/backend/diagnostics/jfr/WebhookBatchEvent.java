@@ -0,0 +1,25 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.ecommerce.WebhookBatch")
+@Label("Webhook Batch")
+@Category({"E-commerce", "Webhooks"})
+@Description("WebhookInboxProcessor: one claimed batch applied to orders")
+@Threshold("500 ms")
+public class WebhookBatchEvent extends Event {
+
+    @Label("Events")
+    public int events;
+
+    @Label("Orders")
+    public int orders;
+
+    @Label("Failed Events")
+    public int failedEvents;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.backend.diagnostics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+@Name("com.ecommerce.WebhookReceive")
+@Label("Webhook Receive")
+@Category({"E-commerce", "Webhooks"})
+@Description("WebhookController: signature check and inbox insert")
+@Threshold("50 ms")
+public class WebhookReceiveEvent extends Event {
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Signature Valid")
+    public boolean signatureValid;
+
+    @Label("Duplicate")
+    public boolean duplicate;
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.ecommerce.backend.entity.OrderStatus;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminOrderSummaryDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long orderId;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long userId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private Double totalAmount;
+    private int shard;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsStatusDTO {
+    private int rows;
+    private long memoryBytes;
+    private LocalDateTime lastRefresh;
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.backend.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsTopEntryDTO {
+    // Product or category id, depending on groupBy
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private double value;
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.backend.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class BucketMoveResultDTO {
+    private int bucket;
+    private int sourceShard;
+    private int targetShard;
+    private int users;
+    private Map<String, Integer> rowsCopied = new LinkedHashMap<>();
+    private boolean sourceCleaned;
+    private long durationMs;
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.backend.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentRequestDTO {
+
+    @NotEmpty(message = "At least one adjustment is required")
+    @Size(max = 50000, message = "At most 50000 adjustments per request")
+    private List<@Valid StockAdjustmentRequestDTO> adjustments;
+}
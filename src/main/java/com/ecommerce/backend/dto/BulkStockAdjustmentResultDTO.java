@@ -0,0 +1,18 @@
+package com.ecommerce.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStockAdjustmentResultDTO {
+    private int updated;
+    private int failed;
+    private long durationMs;
+    // In request order
+    private List<StockAdjustmentResultDTO> results;
+}
@@ -2,6 +2,9 @@ package com.ecommerce.backend.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,7 +13,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartResponseDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long cartId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userId;
     private String username;
     private List<CartItemResponseDTO> items;
@@ -1,5 +1,8 @@
 package com.ecommerce.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +12,8 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CategoryResponseDTO {
     
+    @JsonSerialize(using = ToStringSerializer.class)
+    
     private Long id;
     private String name;
     private String description;
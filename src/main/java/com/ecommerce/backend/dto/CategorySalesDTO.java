@@ -0,0 +1,22 @@
+package com.ecommerce.backend.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySalesDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal revenue;
+    private long units;
+    private long orders;
+}
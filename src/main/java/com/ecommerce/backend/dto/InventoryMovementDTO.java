@@ -0,0 +1,27 @@
+package com.ecommerce.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.ecommerce.backend.entity.InventoryMovementType;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovementDTO {
+    private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    private InventoryMovementType type;
+    // Signed change in stock
+    private Integer quantity;
+    // Order id for sales
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long referenceId;
+    private LocalDateTime occurredAt;
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +13,7 @@ import lombok.NoArgsConstructor;
 public class PaymentIntentResponseDTO {
     
     private String clientSecret;      // For frontend to complete payment
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long orderId;
     private Double amount;
     private String currency;
@@ -1,5 +1,8 @@
 package com.ecommerce.backend.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,9 +12,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ProductResponseDTO {
     
+    @JsonSerialize(using = ToStringSerializer.class)
+    
     private Long id;
     private String name;
     private Double price;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long categoryId;
     private String categoryName;
     private Integer stockQuantity;
@@ -0,0 +1,18 @@
+package com.ecommerce.backend.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBackfillResultDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private int chunks;
+    private long rowsWritten;
+    private long durationMs;
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardStatusDTO {
+    private int shard;
+    private int buckets;
+    private long orders;
+    private long pendingOrders;
+}
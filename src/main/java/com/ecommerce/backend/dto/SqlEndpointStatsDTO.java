@@ -0,0 +1,16 @@
+package com.ecommerce.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class SqlEndpointStatsDTO {
+    private String endpoint;
+    private long requests;
+    private double avgStatements;
+    private int maxStatements;
+    private double totalDbMillis;
+    private double avgDbMillis;
+    private long budgetViolations;
+    private long suspectedNPlusOne;
+    private String lastRepeatedStatement;
+}
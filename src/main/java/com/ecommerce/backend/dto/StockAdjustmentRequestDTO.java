@@ -0,0 +1,28 @@
+package com.ecommerce.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequestDTO {
+
+    public enum Mode {
+        // Set the stock to `quantity`
+        ABSOLUTE,
+        // Add `quantity` (negative to remove)
+        DELTA
+    }
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Quantity is required")
+    private Integer quantity;
+
+    @NotNull(message = "Mode is required")
+    private Mode mode;
+}
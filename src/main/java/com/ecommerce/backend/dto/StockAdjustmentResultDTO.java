@@ -0,0 +1,34 @@
+package com.ecommerce.backend.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResultDTO {
+
+    public enum Status {
+        UPDATED,
+        // Stock already had the requested value
+        UNCHANGED,
+        NOT_FOUND,
+        // Would have made the stock negative
+        REJECTED,
+        // The product appeared earlier in the same request
+        DUPLICATE,
+        // Its chunk's transaction failed and was rolled back; safe to resend
+        FAILED
+    }
+
+    @JsonSerialize(using = ToStringSerializer.class)
+
+    private Long productId;
+    private Status status;
+    private Integer previousStock;
+    private Integer newStock;
+}
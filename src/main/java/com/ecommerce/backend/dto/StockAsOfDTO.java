@@ -0,0 +1,23 @@
+package com.ecommerce.backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAsOfDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    private LocalDateTime at;
+    private Long stockQuantity;
+    // Snapshot the answer was replayed from (null when there was none yet)
+    private LocalDateTime snapshotCoversUntil;
+    private Integer movementsReplayed;
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.backend.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDriftDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    // products.stock_quantity
+    private Integer stockQuantity;
+    // Latest snapshot plus later movements
+    private Long ledgerQuantity;
+}
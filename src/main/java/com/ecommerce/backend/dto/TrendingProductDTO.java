@@ -0,0 +1,20 @@
+package com.ecommerce.backend.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProductDTO {
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long productId;
+    private String name;
+    private Double price;
+    // Recent views, decayed by popularity.trending.half-life-ms (estimate)
+    private Double score;
+}
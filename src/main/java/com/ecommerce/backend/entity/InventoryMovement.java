@@ -0,0 +1,53 @@
+package com.ecommerce.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Append-only stock ledger on shard 0, next to the products it describes.
+// Mapped so ddl-auto creates the table; rows are written by InventoryLedger's batched
+// INSERTs and never updated or deleted.
+@Entity
+@Table(name = "inventory_movements", indexes = {
+    @Index(name = "idx_inventory_movements_product_id", columnList = "product_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+
+    // Database-assigned; snapshots cover every movement up to an id
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 16)
+    private InventoryMovementType movementType;
+
+    // Signed change in stock_quantity
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Order id for SALE movements
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    // When the stock changed, which can be slightly before the row was written
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.backend.entity;
+
+public enum InventoryMovementType {
+    SALE,         // Stock taken by a paid order
+    CANCEL,       // Stock given back (e.g. a payment batch that rolled back)
+    ADJUSTMENT,   // Warehouse correction
+    IMPORT        // Opening stock of a new product, or of one that predates the ledger
+}
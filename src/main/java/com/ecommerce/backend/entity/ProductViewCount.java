@@ -0,0 +1,31 @@
+package com.ecommerce.backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// All-time product page views, on shard 0 with the catalog.
+// Mapped so ddl-auto creates the table; maintained by ProductViewRepository's batched upserts.
+@Entity
+@Table(name = "product_views")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewCount {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long views;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.backend.entity;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Paid sales per hour/day and product/category, kept on each shard next to its orders.
+// Mapped so ddl-auto creates the table; maintained by SalesRollupRepository's upserts.
+@Entity
+@Table(name = "sales_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        // HOUR or DAY
+        @Column(nullable = false, length = 4)
+        private String granularity;
+
+        @Column(name = "period_start", nullable = false)
+        private LocalDateTime periodStart;
+
+        // PRODUCT or CATEGORY
+        @Column(nullable = false, length = 8)
+        private String dimension;
+
+        @Column(name = "key_id", nullable = false)
+        private Long keyId;
+    }
+}
@@ -1,9 +1,9 @@
 package com.ecommerce.backend.entity;
 
+import com.ecommerce.backend.id.SnowflakeId;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -17,7 +17,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     long id;
     @Column(unique = true, nullable = false)
     String username;
@@ -25,5 +25,8 @@ public class User {
     String password;
     @Column(nullable = false)
     String role;
+    // Disabled users are rejected by the JWT filter via UserRevocationCache
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    boolean enabled = true;
 
 }
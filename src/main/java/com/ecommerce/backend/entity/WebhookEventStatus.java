@@ -0,0 +1,8 @@
+package com.ecommerce.backend.entity;
+
+public enum WebhookEventStatus {
+    PENDING,      // Stored, waiting for a worker (or for the next retry)
+    PROCESSING,   // Claimed by a worker
+    PROCESSED,    // Handled successfully
+    DEAD          // Gave up after max attempts, needs manual attention
+}
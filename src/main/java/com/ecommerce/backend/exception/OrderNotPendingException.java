@@ -0,0 +1,18 @@
+package com.ecommerce.backend.exception;
+
+import com.ecommerce.backend.entity.OrderStatus;
+
+// The order has already left PENDING, e.g. a second payment event for a paid order
+public class OrderNotPendingException extends RuntimeException {
+
+    private final OrderStatus status;
+
+    public OrderNotPendingException(Long orderId, OrderStatus status) {
+        super("Order " + orderId + " is not in PENDING status. Current status: " + status);
+        this.status = status;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.backend.exception;
+
+public class ShardUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ShardUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
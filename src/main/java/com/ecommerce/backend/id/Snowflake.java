@@ -0,0 +1,110 @@
+package com.ecommerce.backend.id;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Time-ordered 63-bit ids: | 41 bits ms since EPOCH | nodeBits node id | sequenceBits sequence |.
+// Lock-free: the last (timestamp, sequence) pair is one AtomicLong, so the next id is a
+// single CAS. When a millisecond's sequence runs out, the increment carries into the
+// timestamp and the generator runs slightly ahead of the wall clock. If the clock steps
+// back, ids keep counting up from the last timestamp. Once we are more than a few ms
+// ahead, callers sleep until the clock catches up. Being more than maxDriftMs ahead fails
+// instead of handing out ids that may repeat.
+public class Snowflake {
+
+    // 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093
+    public static final long EPOCH_MS = 1704067200000L;
+    public static final int TIMESTAMP_BITS = 41;
+
+    // Running this far ahead of the clock is absorbed by carrying into the next millisecond
+    private static final long TOLERATED_AHEAD_MS = 10;
+
+    private final long nodeId;
+    private final int nodeBits;
+    private final int sequenceBits;
+    private final long sequenceMask;
+    private final long maxDriftMs;
+    private final LongSupplier clock;
+    private final AtomicLong state;
+
+    public Snowflake(long nodeId, int nodeBits, int sequenceBits, long maxDriftMs, LongSupplier clock) {
+        if (nodeId < 0 || nodeId >= (1L << nodeBits)) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + ((1L << nodeBits) - 1));
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = nodeBits;
+        this.sequenceBits = sequenceBits;
+        this.sequenceMask = (1L << sequenceBits) - 1;
+        this.maxDriftMs = maxDriftMs;
+        this.clock = clock;
+        this.state = new AtomicLong((clock.getAsLong() - EPOCH_MS) << sequenceBits);
+    }
+
+    public Snowflake(long nodeId, int nodeBits, int sequenceBits) {
+        this(nodeId, nodeBits, sequenceBits, 2000, System::currentTimeMillis);
+    }
+
+    // Bits left for anything appended below the id (see ShardedOrderIdGenerator)
+    public int bits() {
+        return TIMESTAMP_BITS + nodeBits + sequenceBits;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> sequenceBits;
+            long now = clock.getAsLong() - EPOCH_MS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << sequenceBits;
+            } else {
+                long ahead = lastTimestamp - now;
+                if (ahead > maxDriftMs) {
+                    throw new IllegalStateException("Clock is " + ahead + " ms behind the last issued id; refusing to generate ids");
+                }
+                if (ahead > TOLERATED_AHEAD_MS) {
+                    // Sustained overload or a small clock step back - sleep until the clock catches up
+                    // rather than burning a core for up to maxDriftMs
+                    sleepMillis(ahead - TOLERATED_AHEAD_MS);
+                    continue;
+                }
+                // Same millisecond (or slightly behind): next sequence, carrying into the timestamp
+                next = current + 1;
+            }
+            if (state.compareAndSet(current, next)) {
+                long timestamp = next >>> sequenceBits;
+                return (timestamp << (nodeBits + sequenceBits))
+                        | (nodeId << sequenceBits)
+                        | (next & sequenceMask);
+            }
+        }
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the clock to catch up", e);
+        }
+    }
+
+    // Milliseconds since the Unix epoch at which an id was generated
+    public static long timestampOf(long id, int nodeAndSequenceBits) {
+        return (id >>> nodeAndSequenceBits) + EPOCH_MS;
+    }
+
+    // Fallback when ids.node-id is not set: fine for one instance, a coin toss for several
+    public static long defaultNodeId(int nodeBits) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "localhost";
+        }
+        long hash = (host + ":" + ProcessHandle.current().pid()).hashCode();
+        return Math.floorMod(hash, 1L << nodeBits);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.backend.id;
+
+import java.lang.reflect.Member;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+// | 41 bits ms | 10 bits node | 12 bits sequence | - up to 4096 ids per ms per node.
+// One generator (and sequence) per entity type.
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    // Hibernate setting carrying ids.node-id, see IdGenerationConfig
+    public static final String NODE_ID_SETTING = "ecommerce.ids.node-id";
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    // Bits below the timestamp: id >> this is milliseconds since the epoch
+    public static final int NODE_AND_SEQUENCE_BITS = NODE_BITS + SEQUENCE_BITS;
+
+    private final Snowflake snowflake;
+
+    public SnowflakeIdGenerator(SnowflakeId annotation, Member member, CustomIdGeneratorCreationContext context) {
+        this.snowflake = new Snowflake(nodeId(context, NODE_BITS), NODE_BITS, SEQUENCE_BITS);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return snowflake.nextId();
+    }
+
+    public static long nodeId(CustomIdGeneratorCreationContext context, int nodeBits) {
+        Object configured = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        return configured != null ? Long.parseLong(configured.toString()) : Snowflake.defaultNodeId(nodeBits);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.backend.inventory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.entity.InventoryMovementType;
+import com.ecommerce.backend.repository.InventoryLedgerRepository;
+import com.ecommerce.backend.repository.InventoryLedgerRepository.Movement;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Records stock movements in the transaction that changes the stock, so the ledger and
+// products.stock_quantity commit or roll back together and a crash can't lose movements.
+// Callers hand over all movements of one stock change at once; they go in with one INSERT.
+// With sharding the stock transaction is the shard-0 one, not the order's, which is why this
+// is not deferred to a commit hook: by then the shard-0 transaction has already committed.
+@Component
+public class InventoryLedger {
+
+    private final InventoryLedgerRepository ledgerRepository;
+    private final Counter writtenCounter;
+
+    public InventoryLedger(InventoryLedgerRepository ledgerRepository, MeterRegistry meterRegistry) {
+        this.ledgerRepository = ledgerRepository;
+        this.writtenCounter = Counter.builder("inventory.ledger.written")
+                .register(meterRegistry);
+    }
+
+    public static Movement movement(long productId, InventoryMovementType type, int quantity, Long referenceId) {
+        return new Movement(productId, type, quantity, referenceId, LocalDateTime.now());
+    }
+
+    public void record(long productId, InventoryMovementType type, int quantity, Long referenceId) {
+        record(List.of(movement(productId, type, quantity, referenceId)));
+    }
+
+    // Same movement type for several products, e.g. a compensation
+    public void record(Map<Long, Integer> quantities, InventoryMovementType type) {
+        List<Movement> movements = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> movements.add(movement(productId, type, quantity, null)));
+        record(movements);
+    }
+
+    // Joins the caller's shard-0 transaction, or runs in its own when there is none
+    public void record(List<Movement> movements) {
+        List<Movement> nonZero = movements.stream()
+                .filter(movement -> movement.quantity() != 0)
+                .toList();
+        if (nonZero.isEmpty()) {
+            return;
+        }
+        ledgerRepository.insert(nonZero);
+        writtenCounter.increment(nonZero.size());
+    }
+}
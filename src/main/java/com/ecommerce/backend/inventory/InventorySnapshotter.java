@@ -0,0 +1,48 @@
+package com.ecommerce.backend.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.repository.InventoryLedgerRepository;
+
+// Compacts the ledger into periodic per-product snapshots, so "stock as of T" only
+// replays the movements since the nearest snapshot instead of a product's whole history.
+// On startup, products that predate the ledger get an opening IMPORT movement first.
+@Component
+public class InventorySnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySnapshotter.class);
+
+    private final InventoryLedgerRepository ledgerRepository;
+    private volatile boolean opened;
+
+    public InventorySnapshotter(InventoryLedgerRepository ledgerRepository) {
+        this.ledgerRepository = ledgerRepository;
+    }
+
+    // After ddl-auto has created the tables
+    @EventListener(ApplicationReadyEvent.class)
+    public void recordOpeningBalances() {
+        int products = ledgerRepository.recordOpeningBalances();
+        if (products > 0) {
+            log.info("Recorded opening inventory balances for {} products", products);
+        }
+        this.opened = true;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!opened) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int snapshots = ledgerRepository.snapshot();
+        if (snapshots > 0) {
+            log.info("Took inventory snapshots for {} products in {} ms", snapshots, System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.backend.metrics;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Business counters for the checkout/payment hot paths.
+// Meters with fixed tags are registered once so incrementing is just an add.
+@Component
+public class BusinessMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter checkoutSucceeded;
+    private final Counter checkoutEmptyCart;
+    private final Counter checkoutFailed;
+    private final Counter insufficientStockAtCart;
+    private final Counter insufficientStockAtPayment;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.checkoutSucceeded = checkoutCounter("success");
+        this.checkoutEmptyCart = checkoutCounter("empty_cart");
+        this.checkoutFailed = checkoutCounter("failed");
+        this.insufficientStockAtCart = insufficientStockCounter("cart");
+        this.insufficientStockAtPayment = insufficientStockCounter("payment");
+    }
+
+    public void checkoutSucceeded() {
+        checkoutSucceeded.increment();
+    }
+
+    public void checkoutEmptyCart() {
+        checkoutEmptyCart.increment();
+    }
+
+    public void checkoutFailed() {
+        checkoutFailed.increment();
+    }
+
+    public void insufficientStockAtCart() {
+        insufficientStockAtCart.increment();
+    }
+
+    public void insufficientStockAtPayment() {
+        insufficientStockAtPayment.increment();
+    }
+
+    // result: received, duplicate, processed, retry, dead
+    public void webhookEvent(String type, String result) {
+        meterRegistry.counter("webhook.events", "type", type, "result", result).increment();
+    }
+
+    private Counter checkoutCounter(String outcome) {
+        return Counter.builder("checkout.outcomes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter insufficientStockCounter(String stage) {
+        return Counter.builder("stock.insufficient")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
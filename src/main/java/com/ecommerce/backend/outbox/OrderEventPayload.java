@@ -0,0 +1,15 @@
+package com.ecommerce.backend.outbox;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.ecommerce.backend.entity.OrderStatus;
+
+// JSON body of order.* outbox events. totalAmount and item prices are only known
+// for order.placed; order.paid comes from the batched payment path.
+public record OrderEventPayload(long orderId, long userId, OrderStatus status, Double totalAmount,
+                                List<Item> items, Instant occurredAt) {
+
+    public record Item(long productId, int quantity, Double unitPrice) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.backend.outbox;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.entity.Order;
+import com.ecommerce.backend.entity.OrderItem;
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.repository.OrderBatchRepository.OrderLine;
+
+// Order lifecycle events for downstream systems (warehouse, email, analytics)
+@Component
+public class OrderEvents {
+
+    public static final String AGGREGATE_TYPE = "order";
+    public static final String PLACED = "order.placed";
+    public static final String PAID = "order.paid";
+    public static final String CANCELLED = "order.cancelled";
+
+    private final OutboxWriter outboxWriter;
+
+    public OrderEvents(OutboxWriter outboxWriter) {
+        this.outboxWriter = outboxWriter;
+    }
+
+    public void placed(Order order, long userId, List<OrderItem> items) {
+        List<OrderEventPayload.Item> payloadItems = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            payloadItems.add(new OrderEventPayload.Item(
+                    item.getProduct().getId(), item.getQuantity(), item.getPriceAtOrder()));
+        }
+        outboxWriter.record(AGGREGATE_TYPE, order.getId(), PLACED, new OrderEventPayload(
+                order.getId(), userId, OrderStatus.PENDING, order.getTotalAmount(), payloadItems, Instant.now()));
+    }
+
+    // Lines as read by the batched payment path (one per item)
+    public void paid(long orderId, List<OrderLine> lines) {
+        List<OrderEventPayload.Item> payloadItems = new ArrayList<>(lines.size());
+        for (OrderLine line : lines) {
+            if (line.productId() != null) {
+                payloadItems.add(new OrderEventPayload.Item(line.productId(), line.quantity(), null));
+            }
+        }
+        outboxWriter.record(AGGREGATE_TYPE, orderId, PAID, new OrderEventPayload(
+                orderId, lines.get(0).userId(), OrderStatus.PAID, null, payloadItems, Instant.now()));
+    }
+
+    public void cancelled(Order order, long userId) {
+        outboxWriter.record(AGGREGATE_TYPE, order.getId(), CANCELLED, new OrderEventPayload(
+                order.getId(), userId, OrderStatus.CANCELLED, order.getTotalAmount(), List.of(), Instant.now()));
+    }
+}
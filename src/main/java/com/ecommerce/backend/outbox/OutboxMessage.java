@@ -0,0 +1,8 @@
+package com.ecommerce.backend.outbox;
+
+import java.time.LocalDateTime;
+
+// One relayed event; `id` is unique per shard, so consumers dedupe on (shard, id)
+public record OutboxMessage(int shard, long id, String aggregateType, long aggregateId,
+                            String eventType, String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,147 @@
+package com.ecommerce.backend.outbox;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Moves committed outbox rows to the sink, shard by shard.
+// A batch is claimed with FOR UPDATE SKIP LOCKED (so several instances can relay side by side),
+// published, and deleted with one statement in the same transaction. If publishing fails the
+// transaction rolls back and the rows are picked up again, so delivery is at-least-once.
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxSink sink;
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactions = new ArrayList<>();
+    private final List<AtomicLong> oldestAgeMs = new ArrayList<>();
+    private final int batchSize;
+    private final Timer lagTimer;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+
+    public OutboxRelay(OutboxSink sink,
+                       ShardDataSources shardDataSources,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize) {
+        this.sink = sink;
+        this.batchSize = batchSize;
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            jdbcTemplates.add(new JdbcTemplate(shardDataSources.get(shard)));
+            transactions.add(new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.get(shard))));
+            AtomicLong age = new AtomicLong();
+            oldestAgeMs.add(age);
+            Gauge.builder("outbox.oldest.age", age, AtomicLong::get)
+                    .tag("shard", String.valueOf(shard))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+
+        // Commit of the business transaction -> handed to the sink
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.publish.failures")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        for (int shard = 0; shard < jdbcTemplates.size(); shard++) {
+            try {
+                // Keep going while batches come back full - we are behind and should catch up
+                int relayed;
+                do {
+                    int current = shard;
+                    relayed = transactions.get(shard).execute(status -> relayBatch(current));
+                } while (relayed == batchSize);
+            } catch (Exception e) {
+                log.warn("Outbox relay for shard {} failed, retrying next poll: {}", shard, e.getMessage());
+            } finally {
+                refreshOldestAge(shard);
+            }
+        }
+    }
+
+    private int relayBatch(int shard) {
+        JdbcTemplate jdbcTemplate = jdbcTemplates.get(shard);
+
+        // Step 1: Claim the oldest batch nobody else is relaying
+        List<Long> ages = new ArrayList<>();
+        List<OutboxMessage> messages = jdbcTemplate.query(
+                "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at, "
+                + "(EXTRACT(EPOCH FROM clock_timestamp() - created_at) * 1000)::bigint "
+                + "FROM outbox_events ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, rowNum) -> {
+                    ages.add(rs.getLong(7));
+                    return new OutboxMessage(
+                            shard,
+                            rs.getLong(1),
+                            rs.getString(2),
+                            rs.getLong(3),
+                            rs.getString(4),
+                            rs.getString(5),
+                            rs.getTimestamp(6).toLocalDateTime());
+                },
+                batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        // Step 2: Publish; a failure rolls back the claim
+        long publishStart = System.nanoTime();
+        try {
+            sink.publish(messages);
+        } catch (Exception e) {
+            failureCounter.increment();
+            throw new IllegalStateException("Outbox sink rejected " + messages.size() + " events", e);
+        }
+        long publishMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - publishStart);
+
+        // Step 3: Delete the whole batch with a single statement
+        Long[] ids = messages.stream().map(OutboxMessage::id).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("DELETE FROM outbox_events WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        });
+
+        ages.forEach(age -> lagTimer.record(age + publishMs, TimeUnit.MILLISECONDS));
+        publishedCounter.increment(messages.size());
+        return messages.size();
+    }
+
+    private void refreshOldestAge(int shard) {
+        try {
+            Long age = jdbcTemplates.get(shard).query(
+                    "SELECT (EXTRACT(EPOCH FROM clock_timestamp() - created_at) * 1000)::bigint "
+                    + "FROM outbox_events ORDER BY id LIMIT 1",
+                    rs -> rs.next() ? rs.getLong(1) : 0L);
+            oldestAgeMs.get(shard).set(age);
+        } catch (Exception e) {
+            log.debug("Could not read outbox age for shard {}: {}", shard, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.backend.outbox;
+
+import java.util.List;
+
+// Where relayed events go (a broker client in production). A batch counts as delivered
+// when publish returns; throwing leaves every event of the batch in the outbox for the
+// next poll, so sinks must tolerate redelivery.
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
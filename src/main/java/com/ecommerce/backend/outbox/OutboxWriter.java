@@ -0,0 +1,98 @@
+package com.ecommerce.backend.outbox;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Records events in the caller's transaction. Events are buffered on the transaction
+// and written right before commit with one multi-row INSERT, however many there are,
+// so they commit or roll back together with the change they describe.
+@Component
+public class OutboxWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void record(String aggregateType, long aggregateId, String eventType, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be recorded inside a transaction");
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " event", e);
+        }
+        currentBuffer().events.add(new PendingEvent(aggregateType, aggregateId, eventType, json));
+    }
+
+    // The buffer is a synchronization of the current transaction, so a suspended
+    // outer transaction keeps its own events
+    private PendingEvents currentBuffer() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending) {
+                return pending;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private void insertAll(List<PendingEvent> events) {
+        int size = events.size();
+        String[] aggregateTypes = new String[size];
+        Long[] aggregateIds = new Long[size];
+        String[] eventTypes = new String[size];
+        String[] payloads = new String[size];
+        for (int i = 0; i < size; i++) {
+            PendingEvent event = events.get(i);
+            aggregateTypes[i] = event.aggregateType();
+            aggregateIds[i] = event.aggregateId();
+            eventTypes[i] = event.eventType();
+            payloads[i] = event.payload();
+        }
+
+        jdbcTemplate.update(con -> {
+            // clock_timestamp(), not now(): created_at is when the event was written, which is what relay lag measures from
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) "
+                    + "SELECT t.aggregate_type, t.aggregate_id, t.event_type, t.payload, clock_timestamp() "
+                    + "FROM unnest(?::varchar[], ?::bigint[], ?::varchar[], ?::text[]) "
+                    + "AS t(aggregate_type, aggregate_id, event_type, payload)");
+            ps.setArray(1, con.createArrayOf("varchar", aggregateTypes));
+            ps.setArray(2, con.createArrayOf("bigint", aggregateIds));
+            ps.setArray(3, con.createArrayOf("varchar", eventTypes));
+            ps.setArray(4, con.createArrayOf("text", payloads));
+            return ps;
+        });
+    }
+
+    private record PendingEvent(String aggregateType, long aggregateId, String eventType, String payload) {
+    }
+
+    private class PendingEvents implements TransactionSynchronization {
+
+        private final List<PendingEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!events.isEmpty()) {
+                insertAll(events);
+            }
+        }
+    }
+}
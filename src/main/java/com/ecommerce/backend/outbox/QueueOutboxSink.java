@@ -0,0 +1,28 @@
+package com.ecommerce.backend.outbox;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// In-process stand-in for a broker (local runs and tests). A batch that does not fit
+// is refused as a whole and stays in the outbox until consumers catch up.
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxMessage> queue;
+
+    public QueueOutboxSink(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        if (queue.remainingCapacity() < messages.size()) {
+            throw new IllegalStateException("Outbox queue is full");
+        }
+        queue.addAll(messages);
+    }
+
+    public BlockingQueue<OutboxMessage> queue() {
+        return queue;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.backend.popularity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Heavy hitters over an exponentially decaying count, in fixed memory.
+// A Count-Min sketch estimates every key's decayed count, and the best `capacity` keys are
+// kept in an ordered set. Decay uses forward weights: an update at time t is scaled up by
+// 2^((t - base) / halfLife) instead of scaling every stored count down over time, and the
+// whole structure is rescaled before the weights get large. Not thread-safe.
+final class DecayingTopK {
+
+    // Rescale before weights reach 2^40, well inside double precision
+    private static final double MAX_HALF_LIVES = 40;
+
+    private final double[][] counts;
+    private final int mask;
+    private final int capacity;
+    private final double halfLifeMs;
+    private long baseMs;
+
+    private final Map<Long, Double> trackedScores = new HashMap<>();
+    private final TreeSet<Tracked> tracked = new TreeSet<>(
+            Comparator.comparingDouble(Tracked::score).thenComparingLong(Tracked::key));
+
+    record Tracked(long key, double score) {
+    }
+
+    DecayingTopK(int depth, int width, int capacity, long halfLifeMs, long nowMs) {
+        int columns = Integer.highestOneBit(Math.max(16, width) - 1) << 1;
+        this.counts = new double[depth][columns];
+        this.mask = columns - 1;
+        this.capacity = capacity;
+        this.halfLifeMs = halfLifeMs;
+        this.baseMs = nowMs;
+    }
+
+    void add(long key, long count, long nowMs) {
+        if ((nowMs - baseMs) / halfLifeMs > MAX_HALF_LIVES) {
+            rescale(nowMs);
+        }
+        double weight = count * Math.pow(2, (nowMs - baseMs) / halfLifeMs);
+
+        // Conservative update: only raise the rows that hold the current minimum
+        long h = hash(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32) | 1;
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            estimate = Math.min(estimate, counts[row][(h1 + row * h2) & mask]);
+        }
+        double updated = estimate + weight;
+        for (int row = 0; row < counts.length; row++) {
+            int column = (h1 + row * h2) & mask;
+            if (counts[row][column] < updated) {
+                counts[row][column] = updated;
+            }
+        }
+
+        track(key, updated);
+    }
+
+    // Highest decayed counts first, as of nowMs
+    List<Tracked> top(int limit, long nowMs) {
+        double scale = Math.pow(2, -(nowMs - baseMs) / halfLifeMs);
+        List<Tracked> result = new ArrayList<>(Math.min(limit, tracked.size()));
+        for (Tracked entry : tracked.descendingSet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(new Tracked(entry.key(), entry.score() * scale));
+        }
+        return result;
+    }
+
+    private void track(long key, double score) {
+        Double previous = trackedScores.get(key);
+        if (previous != null) {
+            tracked.remove(new Tracked(key, previous));
+        } else if (trackedScores.size() >= capacity) {
+            Tracked lowest = tracked.first();
+            if (score <= lowest.score()) {
+                return;
+            }
+            tracked.pollFirst();
+            trackedScores.remove(lowest.key());
+        }
+        tracked.add(new Tracked(key, score));
+        trackedScores.put(key, score);
+    }
+
+    private void rescale(long nowMs) {
+        double scale = Math.pow(2, -(nowMs - baseMs) / halfLifeMs);
+        for (double[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= scale;
+            }
+        }
+        List<Tracked> rescaled = new ArrayList<>(tracked.size());
+        tracked.forEach(entry -> rescaled.add(new Tracked(entry.key(), entry.score() * scale)));
+        tracked.clear();
+        trackedScores.clear();
+        rescaled.forEach(entry -> {
+            tracked.add(entry);
+            trackedScores.put(entry.key(), entry.score());
+        });
+        baseMs = nowMs;
+    }
+
+    private static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.backend.popularity;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Concurrent long -> LongAdder counters for hot write paths.
+// Keys are spread over lock-striped segments of open-addressing tables. Finding an existing
+// counter takes no lock, and the counter itself is a LongAdder, so threads bumping the same
+// popular key don't contend on one cache line. Only the first sighting of a key in a
+// segment takes that segment's lock.
+final class LongAdderMap {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    LongAdderMap(int concurrency) {
+        int count = Integer.highestOneBit(Math.max(2, concurrency) - 1) << 1;
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+        segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    void increment(long key) {
+        long h = hash(key);
+        segments[(int) (h >>> segmentShift)].counter(key, h).increment();
+    }
+
+    void add(long key, long count) {
+        long h = hash(key);
+        segments[(int) (h >>> segmentShift)].counter(key, h).add(count);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    interface Visitor {
+        void visit(long key, long count);
+    }
+
+    // Hands every non-zero count to the visitor and starts over with empty tables, so memory
+    // only holds the keys seen since the last drain. A thread that looked up a counter just
+    // before the swap may still bump it; the swapped-out table is checked once more on the
+    // next drain and anything that arrived late is carried into the live table. (Only a thread
+    // stalled across two whole drains between lookup and increment can lose its view.)
+    void drain(Visitor visitor) {
+        for (Segment segment : segments) {
+            AtomicReferenceArray<Entry> retired;
+            AtomicReferenceArray<Entry> previouslyRetired;
+            synchronized (segment) {
+                previouslyRetired = segment.retired;
+                retired = segment.table;
+                segment.retired = retired;
+                segment.table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+                segment.size = 0;
+            }
+            if (previouslyRetired != null) {
+                for (int i = 0; i < previouslyRetired.length(); i++) {
+                    Entry entry = previouslyRetired.get(i);
+                    if (entry != null) {
+                        long late = entry.adder.sumThenReset();
+                        if (late != 0) {
+                            add(entry.key, late);
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < retired.length(); i++) {
+                Entry entry = retired.get(i);
+                if (entry != null) {
+                    long count = entry.adder.sumThenReset();
+                    if (count != 0) {
+                        visitor.visit(entry.key, count);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long hash(long key) {
+        // fmix64 finalizer: the high bits pick the segment, the low bits the slot
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Entry(long key, LongAdder adder) {
+    }
+
+    private static final class Segment {
+
+        private volatile AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+        // Table swapped out by the last drain (guarded by the segment lock)
+        private AtomicReferenceArray<Entry> retired;
+        private volatile int size;
+
+        LongAdder counter(long key, long h) {
+            LongAdder adder = find(table, key, h);
+            return adder != null ? adder : insert(key, h);
+        }
+
+        private static LongAdder find(AtomicReferenceArray<Entry> table, long key, long h) {
+            int mask = table.length() - 1;
+            for (int slot = (int) h & mask; ; slot = (slot + 1) & mask) {
+                Entry entry = table.get(slot);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.key == key) {
+                    return entry.adder;
+                }
+            }
+        }
+
+        private synchronized LongAdder insert(long key, long h) {
+            // Another thread may have added it, or grown the table, since the lock-free lookup
+            LongAdder existing = find(table, key, h);
+            if (existing != null) {
+                return existing;
+            }
+            if ((size + 1) * 2 > table.length()) {
+                grow();
+            }
+            Entry entry = new Entry(key, new LongAdder());
+            put(table, entry, h);
+            size++;
+            return entry.adder;
+        }
+
+        private void grow() {
+            AtomicReferenceArray<Entry> old = table;
+            AtomicReferenceArray<Entry> grown = new AtomicReferenceArray<>(old.length() * 2);
+            for (int i = 0; i < old.length(); i++) {
+                Entry entry = old.get(i);
+                if (entry != null) {
+                    put(grown, entry, hash(entry.key));
+                }
+            }
+            // Lookups still probing the old table find the same LongAdder objects there
+            table = grown;
+        }
+
+        private static void put(AtomicReferenceArray<Entry> table, Entry entry, long h) {
+            int mask = table.length() - 1;
+            int slot = (int) h & mask;
+            while (table.get(slot) != null) {
+                slot = (slot + 1) & mask;
+            }
+            table.set(slot, entry);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.backend.popularity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.repository.ProductViewRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Product page views, counted in memory and written out periodically.
+// A view is one LongAdder increment; every flush hands the counts gathered since the last
+// one to the trending sketch and to product_views with one upsert per batch.
+// Memory: the counters only hold products viewed since the last flush, and the sketch and
+// its top-K set are fixed-size however many products there are.
+// Trending is per instance: behind a load balancer each instance sees a fair sample of views.
+@Component
+public class ProductViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductViewCounter.class);
+
+    private final ProductViewRepository productViewRepository;
+    private final LongAdderMap views;
+    private final DecayingTopK sketch;
+    private final int batchSize;
+    private final Counter flushedCounter;
+    private final Counter failureCounter;
+    private volatile List<TrendingProduct> trending = List.of();
+
+    // Counts whose upsert failed; already in the sketch, so only retried against the database
+    private List<ViewCount> unsaved = new ArrayList<>();
+
+    private record ViewCount(long productId, long views) {
+    }
+
+    public record TrendingProduct(long productId, double score) {
+    }
+
+    public ProductViewCounter(ProductViewRepository productViewRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${popularity.views.concurrency:64}") int concurrency,
+                              @Value("${popularity.views.flush-batch-size:5000}") int batchSize,
+                              @Value("${popularity.trending.sketch-depth:4}") int sketchDepth,
+                              @Value("${popularity.trending.sketch-width:65536}") int sketchWidth,
+                              @Value("${popularity.trending.tracked:1000}") int tracked,
+                              @Value("${popularity.trending.half-life-ms:3600000}") long halfLifeMs) {
+        this.productViewRepository = productViewRepository;
+        this.views = new LongAdderMap(concurrency);
+        this.sketch = new DecayingTopK(sketchDepth, sketchWidth, tracked, halfLifeMs, System.currentTimeMillis());
+        this.batchSize = batchSize;
+        this.flushedCounter = Counter.builder("popularity.views.flushed")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("popularity.views.flush.failures")
+                .register(meterRegistry);
+        Gauge.builder("popularity.views.pending.products", views, LongAdderMap::size)
+                .register(meterRegistry);
+    }
+
+    public void recordView(long productId) {
+        views.increment(productId);
+    }
+
+    // Product ids with their decayed view scores, most viewed first, as of the last flush
+    public List<TrendingProduct> trending(int limit) {
+        List<TrendingProduct> current = trending;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${popularity.views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+
+        // Step 1: Take the counts gathered since the last flush and feed the sketch
+        List<ViewCount> counts = new ArrayList<>(unsaved);
+        int fresh = counts.size();
+        views.drain((productId, count) -> counts.add(new ViewCount(productId, count)));
+        for (int i = fresh; i < counts.size(); i++) {
+            sketch.add(counts.get(i).productId(), counts.get(i).views(), now);
+        }
+        trending = sketch.top(Integer.MAX_VALUE, now).stream()
+                .map(entry -> new TrendingProduct(entry.key(), entry.score()))
+                .toList();
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        // Step 2: Sort by id and merge retried counts, then upsert batch by batch
+        counts.sort(Comparator.comparingLong(ViewCount::productId));
+        List<ViewCount> merged = new ArrayList<>(counts.size());
+        for (ViewCount count : counts) {
+            int last = merged.size() - 1;
+            if (last >= 0 && merged.get(last).productId() == count.productId()) {
+                merged.set(last, new ViewCount(count.productId(), merged.get(last).views() + count.views()));
+            } else {
+                merged.add(count);
+            }
+        }
+
+        List<ViewCount> failed = new ArrayList<>();
+        for (int from = 0; from < merged.size(); from += batchSize) {
+            List<ViewCount> batch = merged.subList(from, Math.min(merged.size(), from + batchSize));
+            Long[] productIds = new Long[batch.size()];
+            Long[] viewCounts = new Long[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                productIds[i] = batch.get(i).productId();
+                viewCounts[i] = batch.get(i).views();
+            }
+            try {
+                productViewRepository.addViews(productIds, viewCounts);
+                flushedCounter.increment(batch.size());
+            } catch (RuntimeException e) {
+                failureCounter.increment();
+                failed.addAll(batch);
+                log.warn("Could not save views for {} products, retrying next flush: {}", batch.size(), e.getMessage());
+            }
+        }
+        unsaved = failed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
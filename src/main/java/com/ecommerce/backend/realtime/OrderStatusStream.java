@@ -0,0 +1,93 @@
+package com.ecommerce.backend.realtime;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.backend.entity.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Pushes order status changes to the owner's open streams, on whichever instance they are connected.
+// Changes go out as NOTIFY in the changing transaction and come back through every
+// instance's LISTEN connection, including this one's.
+@Component
+public class OrderStatusStream {
+
+    static final String CHANNEL = "order_status";
+    private static final String EVENT_NAME = "order-status";
+
+    private final PgNotifier notifier;
+    private final ObjectMapper objectMapper;
+    private final SseFanout fanout;
+
+    public OrderStatusStream(PgNotifier notifier,
+                             PgNotificationListener listener,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${realtime.sse.sender-threads:2}") int senderThreads,
+                             @Value("${realtime.sse.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${realtime.sse.buffer-size:32}") int bufferSize,
+                             @Value("${realtime.sse.max-connections:20000}") int maxConnections) {
+        this.notifier = notifier;
+        this.objectMapper = objectMapper;
+        this.fanout = new SseFanout("orders", meterRegistry, senderThreads, timeoutMs, bufferSize, maxConnections);
+        listener.subscribe(CHANNEL, this::deliver);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        return fanout.subscribe(List.of(userId));
+    }
+
+    // Call inside the transaction that changes the status
+    public void statusChanged(long userId, long orderId, OrderStatus status) {
+        statusChanged(Map.of(orderId, userId), status);
+    }
+
+    // userIdByOrder: order id -> owner id
+    public void statusChanged(Map<Long, Long> userIdByOrder, OrderStatus status) {
+        Instant now = Instant.now();
+        List<String> payloads = new ArrayList<>(userIdByOrder.size());
+        userIdByOrder.forEach((orderId, userId) ->
+                payloads.add(toJson(new OrderStatusUpdate(orderId, userId, status, now))));
+        notifier.notify(CHANNEL, payloads);
+    }
+
+    private void deliver(String payload) {
+        OrderStatusUpdate update;
+        try {
+            update = objectMapper.readValue(payload, OrderStatusUpdate.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed order status notification", e);
+        }
+        // The notification already is the event's JSON
+        fanout.publish(update.userId(), EVENT_NAME, payload);
+    }
+
+    private String toJson(OrderStatusUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order status update", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        fanout.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanout.shutdown();
+    }
+}
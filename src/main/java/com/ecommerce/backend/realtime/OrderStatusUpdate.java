@@ -0,0 +1,8 @@
+package com.ecommerce.backend.realtime;
+
+import java.time.Instant;
+
+import com.ecommerce.backend.entity.OrderStatus;
+
+public record OrderStatusUpdate(long orderId, long userId, OrderStatus status, Instant occurredAt) {
+}
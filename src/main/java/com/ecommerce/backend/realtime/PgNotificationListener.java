@@ -0,0 +1,127 @@
+package com.ecommerce.backend.realtime;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+
+import jakarta.annotation.PreDestroy;
+
+// Receives Postgres NOTIFY messages so every instance sees changes committed by any instance.
+// One thread per shard holds a dedicated connection in LISTEN and hands payloads to the
+// handler registered for the channel. NOTIFY is transactional, so a handler only ever
+// sees changes that committed.
+@Component
+public class PgNotificationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotificationListener.class);
+
+    private final ShardDataSources shardDataSources;
+    private final boolean enabled;
+    private final int pollTimeoutMs;
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public PgNotificationListener(ShardDataSources shardDataSources,
+                                  @Value("${realtime.listen.enabled:true}") boolean enabled,
+                                  @Value("${realtime.listen.poll-timeout-ms:1000}") int pollTimeoutMs) {
+        this.shardDataSources = shardDataSources;
+        this.enabled = enabled;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    // Register during startup; channels are LISTENed once the application is ready
+    public void subscribe(String channel, Consumer<String> handler) {
+        handlers.put(channel, handler);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || handlers.isEmpty()) {
+            return;
+        }
+        for (int shard = 0; shard < shardDataSources.count(); shard++) {
+            int current = shard;
+            Thread thread = new Thread(() -> listen(current), "pg-listen-" + shard);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    private void listen(int shard) {
+        DataSource dataSource = shardDataSources.get(shard);
+        long backoffMs = 500;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    for (String channel : handlers.keySet()) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                log.info("Listening for {} on shard {}", handlers.keySet(), shard);
+                backoffMs = 500;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                // Anything sent while reconnecting is lost; streams resync on reconnect
+                log.warn("LISTEN connection to shard {} failed, reconnecting in {} ms: {}", shard, backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30_000);
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        Consumer<String> handler = handlers.get(notification.getName());
+        if (handler == null) {
+            return;
+        }
+        try {
+            handler.accept(notification.getParameter());
+        } catch (Exception e) {
+            log.warn("Handler for {} failed: {}", notification.getName(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+}
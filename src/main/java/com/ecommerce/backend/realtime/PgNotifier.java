@@ -0,0 +1,32 @@
+package com.ecommerce.backend.realtime;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Sends NOTIFY on the caller's transaction connection. Postgres holds the messages until
+// commit and drops them on rollback, so listeners never see a change that did not happen.
+@Component
+public class PgNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PgNotifier(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // One round trip for the whole list; each payload must stay under Postgres's 8000-byte limit
+    public void notify(String channel, List<String> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT pg_notify(?, p) FROM unnest(?::text[]) AS p");
+            ps.setString(1, channel);
+            ps.setArray(2, con.createArrayOf("text", payloads.toArray()));
+            return ps;
+        }, rs -> null);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecommerce.backend.realtime;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+// Live stock levels for product pages.
+// A trigger on products turns every committed stock change - JPA saves, the batched payment
+// path, admin edits - into one NOTIFY, so there is a single change feed whoever wrote it.
+// Changes are coalesced per product and sent at most maxUpdatesPerSecond times a second;
+// each one is serialized once and fanned out to all of the product's watchers.
+@Component
+public class ProductStockStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockStream.class);
+
+    static final String CHANNEL = "product_stock";
+    private static final String EVENT_NAME = "stock";
+    private static final long TRIGGER_LOCK = 0x570c4L;
+
+    private final JdbcTemplate globalJdbcTemplate;
+    private final TransactionTemplate triggerTransaction;
+    private final SseFanout fanout;
+    private final int maxProductsPerStream;
+    private final long minIntervalNanos;
+    // Latest stock not yet sent, per product; a newer change simply overwrites it
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastSentNanos = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    // Own thread, so the flush cadence doesn't depend on what else the shared scheduler is running
+    private final ScheduledExecutorService flusher;
+
+    public ProductStockStream(ShardDataSources shardDataSources,
+                              PgNotificationListener listener,
+                              MeterRegistry meterRegistry,
+                              EntityManagerFactory entityManagerFactory,
+                              @Value("${realtime.sse.sender-threads:2}") int senderThreads,
+                              @Value("${realtime.sse.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${realtime.sse.buffer-size:32}") int bufferSize,
+                              @Value("${realtime.stock.max-connections:100000}") int maxConnections,
+                              @Value("${realtime.stock.max-products-per-stream:50}") int maxProductsPerStream,
+                              @Value("${realtime.stock.max-updates-per-second:2}") int maxUpdatesPerSecond,
+                              @Value("${realtime.stock.flush-interval-ms:100}") long flushIntervalMs) {
+        // Stock lives on shard 0 (see ProductStockRepository)
+        this.globalJdbcTemplate = new JdbcTemplate(shardDataSources.global());
+        this.triggerTransaction = new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.global()));
+        this.fanout = new SseFanout("stock", meterRegistry, senderThreads, timeoutMs, bufferSize, maxConnections);
+        this.maxProductsPerStream = maxProductsPerStream;
+        this.minIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxUpdatesPerSecond);
+        this.coalescedCounter = Counter.builder("realtime.stock.coalesced")
+                .register(meterRegistry);
+        listener.subscribe(CHANNEL, this::changed);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Hibernate's ddl-auto knows nothing about triggers; runs after it (see the EntityManagerFactory dependency)
+    @PostConstruct
+    public void installTrigger() {
+        // Instances starting together would otherwise race on the catalog rows
+        // ("tuple concurrently updated"); the lock serializes them and commits both statements at once
+        triggerTransaction.executeWithoutResult(status -> {
+            globalJdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, TRIGGER_LOCK);
+            globalJdbcTemplate.execute(
+                    "CREATE OR REPLACE FUNCTION notify_product_stock() RETURNS trigger AS $$ "
+                    + "BEGIN "
+                    + "PERFORM pg_notify('" + CHANNEL + "', NEW.id || ':' || NEW.stock_quantity); "
+                    + "RETURN NULL; "
+                    + "END $$ LANGUAGE plpgsql");
+            // OR REPLACE needs PostgreSQL 14+
+            globalJdbcTemplate.execute(
+                    "CREATE OR REPLACE TRIGGER product_stock_notify "
+                    + "AFTER UPDATE OF stock_quantity ON products FOR EACH ROW "
+                    + "WHEN (OLD.stock_quantity IS DISTINCT FROM NEW.stock_quantity) "
+                    + "EXECUTE FUNCTION notify_product_stock()");
+        });
+    }
+
+    public SseEmitter subscribe(Collection<Long> productIds) {
+        if (productIds.isEmpty() || productIds.size() > maxProductsPerStream) {
+            throw new RuntimeException("Subscribe to between 1 and " + maxProductsPerStream + " products");
+        }
+        return fanout.subscribe(productIds);
+    }
+
+    // Payload is "<productId>:<stockQuantity>"
+    private void changed(String payload) {
+        int separator = payload.indexOf(':');
+        long productId = Long.parseLong(payload, 0, separator, 10);
+        // Nobody on this instance is watching - nothing to do
+        if (!fanout.hasSubscribers(productId)) {
+            return;
+        }
+        if (pending.put(productId, Integer.parseInt(payload, separator + 1, payload.length(), 10)) != null) {
+            coalescedCounter.increment();
+        }
+    }
+
+    // A task that throws is never run again by the executor
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Stock stream flush failed: {}", e.getMessage());
+        }
+    }
+
+    public void flush() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Integer>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Integer> entry = iterator.next();
+            long productId = entry.getKey();
+            Long lastSent = lastSentNanos.get(productId);
+            if (lastSent != null && now - lastSent < minIntervalNanos) {
+                // Throttled: keep the latest value for a later flush
+                continue;
+            }
+            // Remove only the value we read, so a change arriving meanwhile is sent next time
+            int stock = entry.getValue();
+            pending.remove(productId, stock);
+            lastSentNanos.put(productId, now);
+            fanout.publish(productId, EVENT_NAME, "{\"productId\":" + productId + ",\"stockQuantity\":" + stock + "}");
+        }
+        // Forget throttle state of products nobody watches any more
+        lastSentNanos.keySet().removeIf(productId -> !fanout.hasSubscribers(productId));
+    }
+
+    @Scheduled(fixedDelayString = "${realtime.sse.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        fanout.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        fanout.shutdown();
+    }
+}
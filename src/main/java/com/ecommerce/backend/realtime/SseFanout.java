@@ -0,0 +1,167 @@
+package com.ecommerce.backend.realtime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.ecommerce.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Fan-out of server-sent events to connections subscribed to long keys (user ids, product ids).
+// Connections are async requests, not threads. Publishing only enqueues into the connection's
+// bounded buffer; a small sender pool does the socket writes, one drain task per connection at
+// a time. A client too slow to keep its buffer from filling up is disconnected - it reconnects
+// and re-reads current state, which is cheaper than buffering without limit.
+public class SseFanout {
+
+    private final String stream;
+    private final long timeoutMs;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final ConcurrentHashMap<Long, Set<Connection>> connectionsByKey = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final Counter slowConsumerCounter;
+
+    public SseFanout(String stream, MeterRegistry meterRegistry, int senderThreads,
+                     long timeoutMs, int bufferSize, int maxConnections) {
+        this.stream = stream;
+        this.timeoutMs = timeoutMs;
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-" + stream + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("realtime.sse.connections", connections, Set::size)
+                .tag("stream", stream)
+                .register(meterRegistry);
+        this.slowConsumerCounter = Counter.builder("realtime.sse.slow.consumers")
+                .tag("stream", stream)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Collection<Long> keys) {
+        if (connections.size() >= maxConnections) {
+            throw new TooManyRequestsException("Too many open " + stream + " streams, please retry shortly", 5);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(emitter, Set.copyOf(keys));
+        connections.add(connection);
+        for (Long key : connection.keys) {
+            connectionsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(error -> remove(connection));
+        // Flush the headers right away so proxies and the client see an open stream
+        connection.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(long key) {
+        return connectionsByKey.containsKey(key);
+    }
+
+    // The payload is serialized once by the caller, however many subscribers there are
+    public void publish(long key, String eventName, String json) {
+        Set<Connection> subscribers = connectionsByKey.get(key);
+        if (subscribers == null) {
+            return;
+        }
+        for (Connection connection : subscribers) {
+            connection.enqueue(SseEmitter.event().name(eventName).data(json, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    // Keeps idle connections open through proxies and notices clients that went away
+    public void heartbeat() {
+        for (Connection connection : connections) {
+            if (connection.buffer.isEmpty()) {
+                connection.enqueue(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public void shutdown() {
+        sender.shutdownNow();
+        connections.forEach(connection -> connection.emitter.complete());
+    }
+
+    private void remove(Connection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        for (Long key : connection.keys) {
+            connectionsByKey.computeIfPresent(key, (k, subscribers) -> {
+                subscribers.remove(connection);
+                return subscribers.isEmpty() ? null : subscribers;
+            });
+        }
+    }
+
+    private final class Connection {
+
+        private final SseEmitter emitter;
+        private final Set<Long> keys;
+        private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Connection(SseEmitter emitter, Set<Long> keys) {
+            this.emitter = emitter;
+            this.keys = keys;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                slowConsumerCounter.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                remove(this);
+                buffer.clear();
+            } finally {
+                draining.set(false);
+            }
+            // An event enqueued after the last poll but before the flag was cleared
+            if (!buffer.isEmpty() && connections.contains(this)) {
+                scheduleDrain();
+            }
+        }
+    }
+}
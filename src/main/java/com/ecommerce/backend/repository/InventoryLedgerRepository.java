@@ -0,0 +1,185 @@
+package com.ecommerce.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.entity.InventoryMovementType;
+
+// Set-based SQL for the inventory ledger on shard 0.
+// A snapshot covers every movement up to an id, so it must never be taken while a lower id
+// is still uncommitted: writers hold the ledger advisory lock shared for their insert, and
+// the snapshot cutoff is read under it exclusively.
+@Repository
+public class InventoryLedgerRepository {
+
+    private static final long LEDGER_LOCK = 0x1ed6e7L;
+    private static final long SNAPSHOT_LOCK = 0x1ed6e8L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public InventoryLedgerRepository(ShardDataSources shardDataSources) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.global());
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.global()));
+    }
+
+    public record Movement(long productId, InventoryMovementType type, int quantity, Long referenceId,
+                           LocalDateTime occurredAt) {
+    }
+
+    public record StoredMovement(long id, long productId, InventoryMovementType type, int quantity,
+                                 Long referenceId, LocalDateTime occurredAt) {
+    }
+
+    public record Snapshot(long lastMovementId, LocalDateTime coversUntil, int stockQuantity) {
+    }
+
+    public record Replay(long quantity, int movements) {
+    }
+
+    public record Drift(long productId, int stockQuantity, long ledgerQuantity) {
+    }
+
+    // All movements with one INSERT
+    public void insert(List<Movement> movements) {
+        int size = movements.size();
+        Long[] productIds = new Long[size];
+        String[] types = new String[size];
+        Integer[] quantities = new Integer[size];
+        Long[] referenceIds = new Long[size];
+        Timestamp[] occurredAt = new Timestamp[size];
+        for (int i = 0; i < size; i++) {
+            Movement movement = movements.get(i);
+            productIds[i] = movement.productId();
+            types[i] = movement.type().name();
+            quantities[i] = movement.quantity();
+            referenceIds[i] = movement.referenceId();
+            occurredAt[i] = Timestamp.valueOf(movement.occurredAt());
+        }
+
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock_shared(?)", Object.class, LEDGER_LOCK);
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "INSERT INTO inventory_movements (product_id, movement_type, quantity, reference_id, occurred_at) "
+                        + "SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::int[], ?::bigint[], ?::timestamp[])");
+                ps.setArray(1, con.createArrayOf("bigint", productIds));
+                ps.setArray(2, con.createArrayOf("varchar", types));
+                ps.setArray(3, con.createArrayOf("int4", quantities));
+                ps.setArray(4, con.createArrayOf("bigint", referenceIds));
+                ps.setArray(5, con.createArrayOf("timestamp", occurredAt));
+                return ps;
+            });
+        });
+    }
+
+    // Opening IMPORT movement for every product without one, sized so the ledger adds up to the
+    // current stock even if the product already has later movements
+    public int recordOpeningBalances() {
+        return transaction.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock_shared(?)", Object.class, LEDGER_LOCK);
+            return jdbcTemplate.update(
+                    "INSERT INTO inventory_movements (product_id, movement_type, quantity, occurred_at) "
+                    + "SELECT p.id, 'IMPORT', p.stock_quantity - m.total, localtimestamp FROM products p "
+                    + "CROSS JOIN LATERAL (SELECT COALESCE(SUM(quantity), 0) AS total FROM inventory_movements m "
+                    + "WHERE m.product_id = p.id) m "
+                    + "WHERE p.stock_quantity <> m.total "
+                    + "AND NOT EXISTS (SELECT 1 FROM inventory_movements i "
+                    + "WHERE i.product_id = p.id AND i.movement_type = 'IMPORT')");
+        });
+    }
+
+    // One new snapshot row per product that moved since the last run; returns how many
+    public int snapshot() {
+        // Step 1: Every movement up to the cutoff is committed once no writer holds the lock
+        long cutoff = transaction.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, LEDGER_LOCK);
+            return jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM inventory_movements", Long.class);
+        });
+
+        // Step 2: Fold the movements since the previous run into each product's latest snapshot.
+        // Runs are serialized across instances; a run that loses the race just skips.
+        return transaction.execute(status -> {
+            if (!jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, SNAPSHOT_LOCK)) {
+                return 0;
+            }
+            long previous = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(last_movement_id), 0) FROM inventory_snapshots", Long.class);
+            if (cutoff <= previous) {
+                return 0;
+            }
+            return jdbcTemplate.update(
+                    "WITH moved AS ("
+                    + "SELECT product_id, MAX(id) AS last_id, MAX(occurred_at) AS until, SUM(quantity) AS delta "
+                    + "FROM inventory_movements WHERE id > ? AND id <= ? GROUP BY product_id) "
+                    + "INSERT INTO inventory_snapshots "
+                    + "(product_id, last_movement_id, covers_until, stock_quantity, created_at) "
+                    + "SELECT m.product_id, m.last_id, GREATEST(m.until, s.covers_until), "
+                    + "COALESCE(s.stock_quantity, 0) + m.delta, localtimestamp "
+                    + "FROM moved m LEFT JOIN LATERAL ("
+                    + "SELECT covers_until, stock_quantity FROM inventory_snapshots s "
+                    + "WHERE s.product_id = m.product_id "
+                    + "ORDER BY covers_until DESC, last_movement_id DESC LIMIT 1) s ON true",
+                    previous, cutoff);
+        });
+    }
+
+    // Latest snapshot whose movements all happened at or before the given time
+    public Snapshot findSnapshot(long productId, LocalDateTime at) {
+        List<Snapshot> snapshots = jdbcTemplate.query(
+                "SELECT last_movement_id, covers_until, stock_quantity FROM inventory_snapshots "
+                + "WHERE product_id = ? AND covers_until <= ? "
+                + "ORDER BY covers_until DESC, last_movement_id DESC LIMIT 1",
+                (rs, rowNum) -> new Snapshot(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime(), rs.getInt(3)),
+                productId, Timestamp.valueOf(at));
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    // Movements after a snapshot that happened at or before the given time. Late writes are
+    // included: a movement can land after a snapshot even though it happened earlier.
+    public Replay replay(long productId, long afterMovementId, LocalDateTime at) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(quantity), 0), COUNT(*) FROM inventory_movements "
+                + "WHERE product_id = ? AND id > ? AND occurred_at <= ?",
+                (rs, rowNum) -> new Replay(rs.getLong(1), rs.getInt(2)),
+                productId, afterMovementId, Timestamp.valueOf(at));
+    }
+
+    public List<StoredMovement> findRecent(long productId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, product_id, movement_type, quantity, reference_id, occurred_at "
+                + "FROM inventory_movements WHERE product_id = ? ORDER BY id DESC LIMIT ?",
+                (rs, rowNum) -> new StoredMovement(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        InventoryMovementType.valueOf(rs.getString(3)),
+                        rs.getInt(4),
+                        rs.getObject(5, Long.class),
+                        rs.getTimestamp(6).toLocalDateTime()),
+                productId, limit);
+    }
+
+    // Products whose stock column disagrees with latest snapshot + later movements
+    public List<Drift> findDrift(int limit) {
+        return jdbcTemplate.query(
+                "SELECT p.id, p.stock_quantity, COALESCE(s.stock_quantity, 0) + COALESCE(m.delta, 0) AS ledger "
+                + "FROM products p "
+                + "LEFT JOIN LATERAL (SELECT last_movement_id, stock_quantity FROM inventory_snapshots s "
+                + "WHERE s.product_id = p.id ORDER BY covers_until DESC, last_movement_id DESC LIMIT 1) s ON true "
+                + "LEFT JOIN LATERAL (SELECT SUM(quantity) AS delta FROM inventory_movements m "
+                + "WHERE m.product_id = p.id AND m.id > COALESCE(s.last_movement_id, 0)) m ON true "
+                + "WHERE p.stock_quantity <> COALESCE(s.stock_quantity, 0) + COALESCE(m.delta, 0) "
+                + "ORDER BY p.id LIMIT ?",
+                (rs, rowNum) -> new Drift(rs.getLong(1), rs.getInt(2), rs.getLong(3)),
+                limit);
+    }
+}
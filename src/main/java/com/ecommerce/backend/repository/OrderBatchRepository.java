@@ -0,0 +1,61 @@
+package com.ecommerce.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Set-based SQL for the batched payment path; runs inside the caller's JPA transaction
+@Repository
+public class OrderBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // One row per order item (item fields are null for an order without items)
+    public record OrderLine(long orderId, long userId, String status, Long productId, Integer quantity,
+                            Double priceAtOrder, Long categoryId) {
+    }
+
+    // Lock the orders and read their lines in one round trip
+    public List<OrderLine> lockOrderLines(Collection<Long> orderIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT o.id, o.user_id, o.status, oi.product_id, oi.quantity, oi.price_at_order, p.category_id "
+                    + "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id "
+                    + "LEFT JOIN products p ON p.id = oi.product_id "
+                    + "WHERE o.id = ANY(?) "
+                    + "ORDER BY o.id, oi.id "
+                    + "FOR UPDATE OF o");
+            ps.setArray(1, con.createArrayOf("bigint", orderIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> new OrderLine(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getString(3),
+                rs.getObject(4, Long.class),
+                rs.getObject(5, Integer.class),
+                rs.getObject(6, Double.class),
+                rs.getObject(7, Long.class)));
+    }
+
+    public void markPaid(Collection<Long> orderIds, LocalDateTime paidAt) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE orders SET status = 'PAID', paid_at = ? WHERE id = ANY(?)");
+            ps.setTimestamp(1, Timestamp.valueOf(paidAt));
+            ps.setArray(2, con.createArrayOf("bigint", orderIds.toArray()));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.backend.repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.entity.InventoryMovementType;
+import com.ecommerce.backend.inventory.InventoryLedger;
+
+// Set-based stock SQL for the payment path.
+// Stock lives with the catalog on shard 0. On a single database this joins the caller's
+// transaction; with sharding the order may be elsewhere, so stock work runs in its own
+// shard-0 transaction and is compensated if the order transaction then rolls back.
+@Repository
+public class ProductStockRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate stockTransaction;
+    private final InventoryLedger inventoryLedger;
+
+    public ProductStockRepository(ShardDataSources shardDataSources, InventoryLedger inventoryLedger) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.global());
+        this.inventoryLedger = inventoryLedger;
+        this.stockTransaction = shardDataSources.isDedicatedPools()
+                ? new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.global()))
+                : null;
+    }
+
+    public record ProductStock(long productId, String name, int stockQuantity) {
+    }
+
+    public <T> T inStockTransaction(Supplier<T> work) {
+        if (stockTransaction == null) {
+            return work.get();
+        }
+        return stockTransaction.execute(status -> work.get());
+    }
+
+    // Give the stock back if the surrounding order transaction doesn't commit
+    public void compensateOnRollback(Map<Long, Integer> decrements) {
+        if (stockTransaction == null || decrements.isEmpty()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Map<Long, Integer> restore = Map.copyOf(decrements);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                try {
+                    stockTransaction.executeWithoutResult(tx -> {
+                        adjustStock(restore, 1);
+                        inventoryLedger.record(restore, InventoryMovementType.CANCEL);
+                    });
+                } catch (RuntimeException e) {
+                    log.error("Could not restore stock {} after a failed payment batch: {}", restore, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Lock products in id order so concurrent batches always queue up the same way
+    public List<ProductStock> lockProducts(Collection<Long> productIds) {
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, name, stock_quantity FROM products "
+                    + "WHERE id = ANY(?) "
+                    + "ORDER BY id "
+                    + "FOR UPDATE");
+            ps.setArray(1, con.createArrayOf("bigint", productIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> new ProductStock(rs.getLong(1), rs.getString(2), rs.getInt(3)));
+    }
+
+    // Apply all per-product decrements with a single UPDATE
+    public void decrementStock(Map<Long, Integer> quantities) {
+        adjustStock(quantities, -1);
+    }
+
+    // Set absolute stock levels with a single UPDATE (callers lock the rows first)
+    public void setStock(Map<Long, Integer> stockLevels) {
+        if (stockLevels.isEmpty()) {
+            return;
+        }
+        Long[] productIds = stockLevels.keySet().toArray(new Long[0]);
+        Integer[] levels = new Integer[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            levels[i] = stockLevels.get(productIds[i]);
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE products p SET stock_quantity = v.quantity "
+                    + "FROM unnest(?::bigint[], ?::int[]) AS v(id, quantity) "
+                    + "WHERE p.id = v.id");
+            ps.setArray(1, con.createArrayOf("bigint", productIds));
+            ps.setArray(2, con.createArrayOf("int4", levels));
+            return ps;
+        });
+    }
+
+    private void adjustStock(Map<Long, Integer> quantities, int sign) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Long[] productIds = quantities.keySet().toArray(new Long[0]);
+        Integer[] amounts = new Integer[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            amounts[i] = sign * quantities.get(productIds[i]);
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "UPDATE products p SET stock_quantity = p.stock_quantity + v.quantity "
+                    + "FROM unnest(?::bigint[], ?::int[]) AS v(id, quantity) "
+                    + "WHERE p.id = v.id");
+            ps.setArray(1, con.createArrayOf("bigint", productIds));
+            ps.setArray(2, con.createArrayOf("int4", amounts));
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.backend.repository;
+
+import java.sql.PreparedStatement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+
+@Repository
+public class ProductViewRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductViewRepository(ShardDataSources shardDataSources) {
+        this.jdbcTemplate = new JdbcTemplate(shardDataSources.global());
+    }
+
+    // Add view counts with one upsert. Ids must be unique and sorted, so concurrent
+    // flushes from several instances lock rows in the same order.
+    public void addViews(Long[] productIds, Long[] views) {
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "INSERT INTO product_views (product_id, views, updated_at) "
+                    + "SELECT v.product_id, v.views, localtimestamp "
+                    + "FROM unnest(?::bigint[], ?::bigint[]) AS v(product_id, views) "
+                    + "ON CONFLICT (product_id) DO UPDATE "
+                    + "SET views = product_views.views + EXCLUDED.views, updated_at = EXCLUDED.updated_at");
+            ps.setArray(1, con.createArrayOf("bigint", productIds));
+            ps.setArray(2, con.createArrayOf("bigint", views));
+            return ps;
+        });
+    }
+}
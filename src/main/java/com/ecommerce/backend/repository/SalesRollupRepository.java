@@ -0,0 +1,135 @@
+package com.ecommerce.backend.repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.backend.repository.OrderBatchRepository.OrderLine;
+
+// Incremental maintenance of sales_rollups; runs inside the caller's transaction,
+// so the rollups change exactly when the orders they count do
+@Repository
+public class SalesRollupRepository {
+
+    private static final String UPSERT =
+            "INSERT INTO sales_rollups (granularity, period_start, dimension, key_id, revenue, units, order_count) "
+            + "SELECT * FROM unnest(?::varchar[], ?::timestamp[], ?::varchar[], ?::bigint[], ?::numeric[], ?::bigint[], ?::bigint[]) "
+            + "ON CONFLICT (granularity, period_start, dimension, key_id) DO UPDATE SET "
+            + "revenue = sales_rollups.revenue + EXCLUDED.revenue, "
+            + "units = sales_rollups.units + EXCLUDED.units, "
+            + "order_count = sales_rollups.order_count + EXCLUDED.order_count";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private record RollupKey(String granularity, LocalDateTime periodStart, String dimension, long keyId)
+            implements Comparable<RollupKey> {
+
+        @Override
+        public int compareTo(RollupKey other) {
+            int result = granularity.compareTo(other.granularity);
+            if (result == 0) {
+                result = periodStart.compareTo(other.periodStart);
+            }
+            if (result == 0) {
+                result = dimension.compareTo(other.dimension);
+            }
+            return result != 0 ? result : Long.compare(keyId, other.keyId);
+        }
+    }
+
+    private static final class Totals {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long units;
+        private long orders;
+    }
+
+    // Add paid orders (lines grouped by order) to the hour and day they were paid in
+    public void add(Map<Long, List<OrderLine>> linesByOrder, LocalDateTime paidAt) {
+        LocalDateTime hour = paidAt.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = paidAt.truncatedTo(ChronoUnit.DAYS);
+
+        // Step 1: Sum the lines per product and category; a key counts an order once
+        // however many of its lines it covers. Sorted so concurrent payments lock rows in one order.
+        Map<RollupKey, Totals> totals = new TreeMap<>();
+        for (List<OrderLine> lines : linesByOrder.values()) {
+            Set<RollupKey> seenInOrder = new HashSet<>();
+            for (OrderLine line : lines) {
+                if (line.productId() == null) {
+                    continue;
+                }
+                BigDecimal revenue = BigDecimal.valueOf(line.priceAtOrder() * line.quantity());
+                for (RollupKey key : keysOf(line, hour, day)) {
+                    Totals total = totals.computeIfAbsent(key, k -> new Totals());
+                    total.revenue = total.revenue.add(revenue);
+                    total.units += line.quantity();
+                    if (seenInOrder.add(key)) {
+                        total.orders++;
+                    }
+                }
+            }
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        // Step 2: One upsert for every affected rollup row
+        int size = totals.size();
+        String[] granularities = new String[size];
+        Timestamp[] periods = new Timestamp[size];
+        String[] dimensions = new String[size];
+        Long[] keyIds = new Long[size];
+        BigDecimal[] revenues = new BigDecimal[size];
+        Long[] units = new Long[size];
+        Long[] orders = new Long[size];
+        int i = 0;
+        for (Map.Entry<RollupKey, Totals> entry : totals.entrySet()) {
+            RollupKey key = entry.getKey();
+            Totals total = entry.getValue();
+            granularities[i] = key.granularity();
+            periods[i] = Timestamp.valueOf(key.periodStart());
+            dimensions[i] = key.dimension();
+            keyIds[i] = key.keyId();
+            revenues[i] = total.revenue;
+            units[i] = total.units;
+            orders[i] = total.orders;
+            i++;
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPSERT);
+            ps.setArray(1, con.createArrayOf("varchar", granularities));
+            ps.setArray(2, con.createArrayOf("timestamp", periods));
+            ps.setArray(3, con.createArrayOf("varchar", dimensions));
+            ps.setArray(4, con.createArrayOf("bigint", keyIds));
+            ps.setArray(5, con.createArrayOf("numeric", revenues));
+            ps.setArray(6, con.createArrayOf("bigint", units));
+            ps.setArray(7, con.createArrayOf("bigint", orders));
+            return ps;
+        });
+    }
+
+    private static List<RollupKey> keysOf(OrderLine line, LocalDateTime hour, LocalDateTime day) {
+        List<RollupKey> keys = new ArrayList<>(4);
+        keys.add(new RollupKey("HOUR", hour, "PRODUCT", line.productId()));
+        keys.add(new RollupKey("DAY", day, "PRODUCT", line.productId()));
+        if (line.categoryId() != null) {
+            keys.add(new RollupKey("HOUR", hour, "CATEGORY", line.categoryId()));
+            keys.add(new RollupKey("DAY", day, "CATEGORY", line.categoryId()));
+        }
+        return keys;
+    }
+}
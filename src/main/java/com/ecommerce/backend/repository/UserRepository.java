@@ -1,8 +1,10 @@
 package com.ecommerce.backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.backend.entity.User;
@@ -12,4 +14,7 @@ public interface UserRepository extends JpaRepository<User, Long>{
     Optional<User> findByUsername(String username);    
     boolean existsByUsername(String username);
 
+    @Query("select u.id from User u where u.enabled = false")
+    List<Long> findDisabledUserIds();
+
 }
@@ -0,0 +1,47 @@
+package com.ecommerce.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.backend.entity.WebhookEvent;
+
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, String> {
+
+    // Insert only if this event id was never seen (Stripe redelivers on timeouts)
+    @Modifying
+    @Query(value = "INSERT INTO webhook_events (id, type, payload, status, attempts, received_at, next_attempt_at) "
+            + "VALUES (:id, :type, :payload, 'PENDING', 0, :now, :now) "
+            + "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id,
+                       @Param("type") String type,
+                       @Param("payload") String payload,
+                       @Param("now") LocalDateTime now);
+
+    // Lock a batch of due events; SKIP LOCKED lets several workers (and nodes) poll side by side
+    @Query(value = "SELECT * FROM webhook_events "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY received_at "
+            + "LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<WebhookEvent> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Hand events back to the queue when the worker that claimed them died
+    @Modifying
+    @Query(value = "UPDATE webhook_events SET status = 'PENDING', locked_at = NULL "
+            + "WHERE status = 'PROCESSING' AND locked_at < :cutoff", nativeQuery = true)
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "UPDATE webhook_events SET status = 'PROCESSED', processed_at = :now, "
+            + "locked_at = NULL, last_error = NULL "
+            + "WHERE id IN (:ids)", nativeQuery = true)
+    int markProcessed(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+}
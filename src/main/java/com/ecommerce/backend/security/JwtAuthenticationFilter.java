@@ -4,11 +4,12 @@ import java.io.IOException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 // import org.springframework.security.web.authentication.WebSecurityConfigurerAdapter;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +20,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserRevocationCache revocationCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   UserDetailsServiceImpl userDetailsService,
+                                   UserRevocationCache revocationCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationCache = revocationCache;
     }
 
     @Override
@@ -37,22 +42,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(
-                        userDetails, 
-                        null, 
-                        userDetails.getAuthorities()
-                    );
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Single verification (often a cache hit) instead of parsing the token three times
+            Claims claims = jwtUtil.verifyToken(token);
+
+            if (claims != null) {
+                UserPrincipal principal = toPrincipal(claims);
+
+                if (principal != null && !revocationCache.isRevoked(principal.getId())) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(
+                            principal, 
+                            null, 
+                            principal.getAuthorities()
+                        );
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         }
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Build the principal straight from the claims; tokens issued before the uid
+    // claim existed fall back to a lookup until they expire
+    private UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get("uid", Number.class);
+        if (userId != null) {
+            return new UserPrincipal(
+                    userId.longValue(),
+                    claims.getSubject(),
+                    null,
+                    claims.get("role", String.class),
+                    true);
+        }
+
+        try {
+            UserPrincipal loaded = userDetailsService.loadUserByUsername(claims.getSubject());
+            return loaded.isEnabled() ? loaded : null;
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -1,67 +1,123 @@
 package com.ecommerce.backend.security;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.ecommerce.backend.diagnostics.jfr.JwtVerificationEvent;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    // Decoded once - building the key and parser per call showed up in every request
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+    private final JwtVerificationCache verificationCache;
+    private final Timer cacheHitTimer;
+    private final Timer cacheMissTimer;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") Long expiration,
+                   @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries,
+                   MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expiration = expiration;
+        this.verificationCache = new JwtVerificationCache(cacheMaxEntries);
+        this.cacheHitTimer = verifyTimer(meterRegistry, "hit");
+        this.cacheMissTimer = verifyTimer(meterRegistry, "miss");
+        Gauge.builder("auth.jwt.cache.size", verificationCache, JwtVerificationCache::size)
+                .register(meterRegistry);
     }
 
-    public String generateToken(String username, String role) {
+    public String generateToken(long userId, String username, String role) {
         return Jwts.builder()
                 .subject(username)
+                .claim("uid", userId)
                 .claim("role", role)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Verify signature and expiry in a single parse.
+    // Returns the claims, or null if the token is invalid or expired.
+    public Claims verifyToken(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Claims cached = verificationCache.get(token);
+        if (cached != null) {
+            cacheHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(event, true, true);
+            return cached;
+        }
+
+        Claims claims = null;
+        try {
+            // The parser rejects expired tokens itself (ExpiredJwtException)
+            claims = parser.parseSignedClaims(token).getPayload();
+            verificationCache.put(token, claims);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        } finally {
+            cacheMissTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(event, false, claims != null);
+        }
+    }
+
+    private static void commit(JwtVerificationEvent event, boolean cacheHit, boolean valid) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cacheHit = cacheHit;
+            event.valid = valid;
+            event.commit();
+        }
+    }
+
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return requireClaims(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return requireClaims(token).get("role", String.class);
     }
 
     public boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verifyToken(token) != null;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String cache) {
+        return Timer.builder("auth.jwt.verify")
+                .tag("cache", cache)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+    private Claims requireClaims(String token) {
+        Claims claims = verifyToken(token);
+        if (claims == null) {
+            throw new JwtException("Invalid or expired token");
+        }
+        return claims;
     }
-}
\ No newline at end of file
+}
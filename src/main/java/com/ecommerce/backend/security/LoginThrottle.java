@@ -0,0 +1,44 @@
+package com.ecommerce.backend.security;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.exception.TooManyRequestsException;
+
+// Token buckets in front of /api/auth/login, per username and per client IP,
+// so credential stuffing is turned away before it reaches the BCrypt pool
+@Component
+public class LoginThrottle {
+
+    private final TokenBucketLimiter perUsername;
+    private final TokenBucketLimiter perIp;
+
+    public LoginThrottle(@Value("${security.login-throttle.username.capacity:5}") long usernameCapacity,
+                         @Value("${security.login-throttle.username.refill-per-second:0.1}") double usernameRefill,
+                         @Value("${security.login-throttle.ip.capacity:20}") long ipCapacity,
+                         @Value("${security.login-throttle.ip.refill-per-second:1}") double ipRefill) {
+        this.perUsername = new TokenBucketLimiter(usernameCapacity, usernameRefill);
+        this.perIp = new TokenBucketLimiter(ipCapacity, ipRefill);
+    }
+
+    public void checkLogin(String username, String clientIp) {
+        long waitNanos = perIp.tryAcquire(clientIp);
+        if (waitNanos == 0) {
+            waitNanos = perUsername.tryAcquire(username.toLowerCase(Locale.ROOT));
+        }
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new TooManyRequestsException("Too many login attempts, please retry later", retryAfter);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        perUsername.evictIdle();
+        perIp.evictIdle();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ecommerce.backend.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ecommerce.backend.dto.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Token bucket limits per user id (from the JWT) or per client IP, with per-route policies.
+// Runs right after JwtAuthenticationFilter so the principal is already known.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record Route(String name, String pattern, Set<String> methods, TokenBucketLimiter limiter) {
+    }
+
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final List<String> excludes;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.excludes = List.copyOf(properties.getExcludes());
+        this.routes = properties.getPolicies().stream()
+                .map(policy -> new Route(
+                        policy.getName(),
+                        policy.getPattern(),
+                        policy.getMethods().stream()
+                                .map(method -> method.toUpperCase(Locale.ROOT))
+                                .collect(Collectors.toUnmodifiableSet()),
+                        new TokenBucketLimiter(policy.getCapacity(), policy.getRefillPerSecond())))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Route route = enabled ? match(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter().tryAcquire(clientKey(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        reject(request, response, route, waitNanos);
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String exclude : excludes) {
+            if (pathMatcher.match(exclude, path)) {
+                return null;
+            }
+        }
+        for (Route route : routes) {
+            if ((route.methods().isEmpty() || route.methods().contains(request.getMethod()))
+                    && pathMatcher.match(route.pattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Authenticated callers are limited per user; anonymous callers per IP
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "u:" + principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        Route route, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                List.of("Rate limit exceeded for " + route.name() + ", retry in " + retryAfterSeconds + "s"),
+                request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    @Scheduled(fixedDelayString = "${ratelimit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        routes.forEach(route -> route.limiter().evictIdle());
+    }
+}
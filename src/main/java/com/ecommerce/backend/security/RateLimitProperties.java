@@ -0,0 +1,43 @@
+package com.ecommerce.backend.security;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-route token bucket policies for RateLimitFilter. First matching policy wins.
+@Component
+@ConfigurationProperties(prefix = "ratelimit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    private long evictionIntervalMs = 60000;
+
+    // Never limited: Stripe retries webhooks in bursts from shared IPs, and a 429 only makes it retry more
+    private List<String> excludes = new ArrayList<>(List.of("/api/webhooks/**"));
+
+    private List<Policy> policies = new ArrayList<>(List.of(
+            new Policy("products", "/api/products/**", List.of("GET"), 60, 20),
+            new Policy("cart", "/api/cart/**", List.of(), 30, 10),
+            new Policy("orders", "/api/orders/**", List.of(), 20, 5),
+            new Policy("default", "/api/**", List.of(), 100, 50)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+        private String name;
+        private String pattern;               // Ant-style path pattern
+        private List<String> methods = List.of();  // empty = any method
+        private long capacity;                // burst size
+        private double refillPerSecond;       // sustained rate
+    }
+}
@@ -1,5 +1,7 @@
 package com.ecommerce.backend.security;
 import org.springframework.http.HttpMethod;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,48 +21,66 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsServiceImpl userDetailsService;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, 
+                         RateLimitFilter rateLimitFilter,
                          UserDetailsServiceImpl userDetailsService) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userDetailsService = userDetailsService;
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   AuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.disable())  // ← Add this line
             .authorizeHttpRequests(auth -> auth
+            // Completion of an event stream; the request was authorized when the stream opened
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+            // Product pages open this with EventSource, which cannot send an Authorization header
+            .requestMatchers(HttpMethod.GET, "/api/products/stock/stream").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/products/trending").permitAll()
             .requestMatchers("/api/auth/**",
                 "/v3/api-docs/**",
                 "/swagger-ui/**",
-                "/swagger-ui.html"
+                "/swagger-ui.html",
+                "/actuator/health"
             ).permitAll()
+            // Stripe sends no token; the Stripe-Signature check is the authentication
+            .requestMatchers(HttpMethod.POST, "/api/webhooks/**").permitAll()
+            // Metrics expose order volumes and internals; scrape with an admin bearer token
+            .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
             .requestMatchers(HttpMethod.PATCH, "/api/orders/**").authenticated()
             .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // Rehash on successful login when security.bcrypt.strength changes
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           @Value("${security.bcrypt.strength:10}") int strength) {
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor);
     }
 
     @Bean
@@ -0,0 +1,62 @@
+package com.ecommerce.backend.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Keyed token buckets, lock-free.
+// Each key holds a single "theoretical arrival time" (the GCRA form of a token bucket):
+// refill is computed lazily from the clock on access and a take is one CAS, so there is
+// no refill thread and no lock on the hot path.
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;   // time to earn one token
+    private final long burstToleranceNanos;     // (capacity - 1) tokens worth of time
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(long capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    TokenBucketLimiter(long capacity, double refillPerSecond, LongSupplier clock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refillPerSecond > 0");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = (capacity - 1) * emissionIntervalNanos;
+        this.clock = clock;
+    }
+
+    // Take one token for the key. Returns 0 if allowed, otherwise the nanos until a token is available.
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = arrival.get();
+            long allowedAt = current - burstToleranceNanos;
+            if (now < allowedAt) {
+                return allowedAt - now;
+            }
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Forget keys whose bucket has refilled completely - they behave exactly like a new key.
+    // A take racing with the removal can be lost, which only ever errs on the side of allowing.
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(arrival -> arrival.get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.backend.security;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import org.hibernate.Hibernate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.ecommerce.backend.entity.User;
+
+// Authenticated user built from the JWT claims - no database lookup needed per request.
+// The password is only set when loaded by UserDetailsServiceImpl for login.
+public class UserPrincipal implements UserDetails {
+
+    private final long id;
+    private final String username;
+    private final String password;
+    private final String role;
+    private final boolean enabled;
+
+    public UserPrincipal(long id, String username, String password, String role, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.enabled = enabled;
+    }
+
+    public static UserPrincipal fromUser(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(),
+                user.getRole(), user.isEnabled());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    // Username for a response about the given user. Controllers hand services a lazy
+    // reference (userRepository.getReferenceById), so read it from the token instead of
+    // loading the users row when the reference belongs to the authenticated user.
+    public static String usernameOf(User user) {
+        if (!Hibernate.isInitialized(user)
+                && SecurityContextHolder.getContext().getAuthentication() != null
+                && SecurityContextHolder.getContext().getAuthentication().getPrincipal() instanceof UserPrincipal principal
+                && principal.id == user.getId()) {
+            return principal.username;
+        }
+        return user.getUsername();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.backend.security;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.repository.UserRepository;
+
+// Disabled accounts, refreshed on a short interval. Lets the JWT filter reject tokens
+// of disabled users without a per-request lookup; the refresh interval is the TTL.
+@Component
+public class UserRevocationCache {
+
+    private final UserRepository userRepository;
+
+    private volatile Set<Long> disabledUserIds = ConcurrentHashMap.newKeySet();
+
+    public UserRevocationCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-ms:30000}")
+    public void refresh() {
+        Set<Long> refreshed = ConcurrentHashMap.newKeySet();
+        refreshed.addAll(userRepository.findDisabledUserIds());
+        disabledUserIds = refreshed;
+    }
+
+    public boolean isRevoked(long userId) {
+        return disabledUserIds.contains(userId);
+    }
+
+    // Takes effect on this node immediately instead of at the next refresh
+    public void revoke(long userId) {
+        disabledUserIds.add(userId);
+    }
+}
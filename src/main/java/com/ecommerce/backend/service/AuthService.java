@@ -10,9 +10,10 @@ import com.ecommerce.backend.dto.AuthResponse;
 import com.ecommerce.backend.dto.LoginRequest;
 import com.ecommerce.backend.dto.RegisterRequest;
 import com.ecommerce.backend.entity.User;
-import com.ecommerce.backend.exception.ResourceNotFoundException;
 import com.ecommerce.backend.repository.UserRepository;
 import com.ecommerce.backend.security.JwtUtil;
+import com.ecommerce.backend.security.LoginThrottle;
+import com.ecommerce.backend.security.UserPrincipal;
 
 @Service
 public class AuthService {
@@ -21,15 +22,18 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final LoginThrottle loginThrottle;
 
     public AuthService(UserRepository userRepository, 
                       PasswordEncoder passwordEncoder,
                       JwtUtil jwtUtil,
-                      AuthenticationManager authenticationManager) {
+                      AuthenticationManager authenticationManager,
+                      LoginThrottle loginThrottle) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.authenticationManager = authenticationManager;
+        this.loginThrottle = loginThrottle;
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -38,7 +42,7 @@ public class AuthService {
             throw new RuntimeException("Username already exists");
         }
 
-        // Create new user with encrypted password
+        // Create new user with encrypted password (hashed on the bounded hashing pool)
         User user = new User();
         user.setUsername(request.getUsername());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -47,13 +51,16 @@ public class AuthService {
         userRepository.save(user);
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        String token = jwtUtil.generateToken(user.getId(), user.getUsername(), user.getRole());
 
         return new AuthResponse(token, user.getUsername(), user.getRole());
     }
 
-    public AuthResponse login(LoginRequest request) {
-        // Authenticate user
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // Reject floods before they cost a BCrypt round
+        loginThrottle.checkLogin(request.getUsername(), clientIp);
+
+        // Authenticate user (password check runs on the hashing pool, rehashes if the cost changed)
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
@@ -61,13 +68,12 @@ public class AuthService {
                 )
         );
 
-        // Get user details
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // The provider already loaded the user - no second lookup
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
         // Generate JWT token
-        String token = jwtUtil.generateToken(user.getUsername(), user.getRole());
+        String token = jwtUtil.generateToken(principal.getId(), principal.getUsername(), principal.getRole());
 
-        return new AuthResponse(token, user.getUsername(), user.getRole());
+        return new AuthResponse(token, principal.getUsername(), principal.getRole());
     }
 }
\ No newline at end of file
@@ -3,15 +3,20 @@ package com.ecommerce.backend.service;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.backend.datasource.ShardKey;
 import com.ecommerce.backend.entity.Cart;
 import com.ecommerce.backend.entity.CartItem;
 import com.ecommerce.backend.entity.Product;
 import com.ecommerce.backend.entity.User;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
+import com.ecommerce.backend.metrics.BusinessMetrics;
 import com.ecommerce.backend.repository.CartItemRepository;
 import com.ecommerce.backend.repository.CartRepository;
 import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.security.UserPrincipal;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
@@ -24,21 +29,25 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "cart.service")
 public class CartService {
 
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final BusinessMetrics metrics;
 
     @PersistenceContext
     private EntityManager entityManager;  // ← Add this
 
     public CartService(CartRepository cartRepository,
                       CartItemRepository cartItemRepository,
-                      ProductRepository productRepository) {
+                      ProductRepository productRepository,
+                      BusinessMetrics metrics) {
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
+        this.metrics = metrics;
     }
     // Methods will go here
 
@@ -53,7 +62,8 @@ public class CartService {
 
 
     @Transactional
-    public CartResponseDTO addToCart(User user, AddToCartRequestDTO request) {
+    @Timed(value = "cart.add", histogram = true)
+    public CartResponseDTO addToCart(@ShardKey User user, AddToCartRequestDTO request) {
         // Step 1: Get or create user's cart
         Cart cart = getOrCreateCart(user);
         
@@ -72,6 +82,7 @@ public class CartService {
 
         // Step 2.3: Validate total quantity against stock
         if (product.getStockQuantity() < totalQuantity) {
+            metrics.insufficientStockAtCart();
             throw new RuntimeException(
                 "Insufficient stock. Available: " + product.getStockQuantity() + 
                 ", Already in cart: " + existingQuantity + 
@@ -97,10 +108,11 @@ public class CartService {
         cartItemRepository.save(cartItem);
         
         // Step 5: Convert to DTO and return
-        return convertToCartResponseDTO(cart);
+        return convertToCartResponseDTO(cart, user);
     }
 
-    private CartResponseDTO convertToCartResponseDTO(Cart cart) {
+    // The owner is passed in so the response never has to load the users row
+    CartResponseDTO convertToCartResponseDTO(Cart cart, User owner) {
         // Convert each CartItem to CartItemResponseDTO
         List<CartItemResponseDTO> itemDTOs = cart.getItems().stream()
                 .map(item -> {
@@ -129,22 +141,25 @@ public class CartService {
         // Build and return CartResponseDTO
         return new CartResponseDTO(
                 cart.getId(),
-                cart.getUser().getId(),
-                cart.getUser().getUsername(),
+                owner.getId(),
+                UserPrincipal.usernameOf(owner),
                 itemDTOs,
                 totalAmount,
                 totalItems
         );
     }
 
-    public CartResponseDTO getCart(User user) {
-        // Get or create cart (reuse our helper method!)
-        Cart cart = getOrCreateCart(user);        
-        return convertToCartResponseDTO(cart);
+    // Read-only (may be served by a replica): a user without a cart gets an empty one
+    // in the response, and the row is only created on the first addToCart
+    @Transactional(readOnly = true)
+    public CartResponseDTO getCart(@ShardKey User user) {
+        return cartRepository.findByUser(user)
+                .map(cart -> convertToCartResponseDTO(cart, user))
+                .orElseGet(() -> new CartResponseDTO(null, user.getId(), UserPrincipal.usernameOf(user), List.of(), 0.0, 0));
     }
     
     @Transactional
-    public CartResponseDTO updateCartItemQuantity(User user, Long cartItemId, 
+    public CartResponseDTO updateCartItemQuantity(@ShardKey User user, Long cartItemId, 
                                                 UpdateCartItemRequestDTO request) {
         // Step 1: Find the cart item
         CartItem cartItem = cartItemRepository.findById(cartItemId)
@@ -162,7 +177,7 @@ public class CartService {
         cartItemRepository.save(cartItem);
         
         // Step 4: Return updated cart
-        return convertToCartResponseDTO(cartItem.getCart());
+        return convertToCartResponseDTO(cartItem.getCart(), user);
     }
 /*
     @Transactional
@@ -187,7 +202,7 @@ public class CartService {
 */
 
     @Transactional
-    public CartResponseDTO removeCartItem(User user, Long cartItemId) {
+    public CartResponseDTO removeCartItem(@ShardKey User user, Long cartItemId) {
         // Step 1: Find the cart item
         CartItem cartItem = cartItemRepository.findById(cartItemId)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -216,10 +231,10 @@ public class CartService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
         
         // Step 8: Return updated cart
-        return convertToCartResponseDTO(cart);
+        return convertToCartResponseDTO(cart, user);
     }
     @Transactional
-    public void clearCart(User user) {
+    public void clearCart(@ShardKey User user) {
         // Step 1: Get or create cart (if user has no cart, nothing to clear)
         Cart cart = getOrCreateCart(user);
         
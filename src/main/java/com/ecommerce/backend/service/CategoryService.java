@@ -45,6 +45,7 @@ public class CategoryService {
     }
 
     // Get all categories
+    @Transactional(readOnly = true)
     public List<CategoryResponseDTO> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .map(this::convertToCategoryResponseDTO)
@@ -52,6 +53,7 @@ public class CategoryService {
     }
 
     // Get category by ID
+    @Transactional(readOnly = true)
     public CategoryResponseDTO getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -0,0 +1,166 @@
+package com.ecommerce.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.dto.BulkStockAdjustmentResultDTO;
+import com.ecommerce.backend.dto.InventoryMovementDTO;
+import com.ecommerce.backend.dto.StockAdjustmentRequestDTO;
+import com.ecommerce.backend.dto.StockAdjustmentResultDTO;
+import com.ecommerce.backend.dto.StockAdjustmentResultDTO.Status;
+import com.ecommerce.backend.dto.StockAsOfDTO;
+import com.ecommerce.backend.dto.StockDriftDTO;
+import com.ecommerce.backend.entity.InventoryMovementType;
+import com.ecommerce.backend.inventory.InventoryLedger;
+import com.ecommerce.backend.repository.InventoryLedgerRepository;
+import com.ecommerce.backend.repository.InventoryLedgerRepository.Movement;
+import com.ecommerce.backend.repository.InventoryLedgerRepository.Replay;
+import com.ecommerce.backend.repository.InventoryLedgerRepository.Snapshot;
+import com.ecommerce.backend.repository.ProductStockRepository;
+import com.ecommerce.backend.repository.ProductStockRepository.ProductStock;
+
+// Bulk stock adjustments from the warehouse system.
+// Each chunk is one short transaction on shard 0: lock the chunk's products in id order
+// (the same order the payment path uses), work out the new levels, and write them with
+// one UPDATE. Stock watchers hear about every change through the products trigger.
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final ProductStockRepository productStockRepository;
+    private final InventoryLedger inventoryLedger;
+    private final InventoryLedgerRepository ledgerRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public InventoryService(ProductStockRepository productStockRepository,
+                            InventoryLedger inventoryLedger,
+                            InventoryLedgerRepository ledgerRepository,
+                            ShardDataSources shardDataSources,
+                            @Value("${inventory.bulk.chunk-size:1000}") int chunkSize) {
+        this.productStockRepository = productStockRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.ledgerRepository = ledgerRepository;
+        this.chunkTransaction = new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.global()));
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkStockAdjustmentResultDTO applyAdjustments(List<StockAdjustmentRequestDTO> adjustments) {
+        long start = System.currentTimeMillis();
+        StockAdjustmentResultDTO[] results = new StockAdjustmentResultDTO[adjustments.size()];
+
+        // Step 1: One adjustment per product; later repeats are reported, not applied
+        Set<Long> seen = new HashSet<>();
+        List<Integer> toApply = new ArrayList<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            Long productId = adjustments.get(i).getProductId();
+            if (seen.add(productId)) {
+                toApply.add(i);
+            } else {
+                results[i] = new StockAdjustmentResultDTO(productId, Status.DUPLICATE, null, null);
+            }
+        }
+
+        // Step 2: Apply chunk by chunk; a failed chunk rolls back only itself and is reported
+        // as FAILED, so a retry can resend just those entries without repeating committed deltas
+        for (int from = 0; from < toApply.size(); from += chunkSize) {
+            List<Integer> chunk = toApply.subList(from, Math.min(toApply.size(), from + chunkSize));
+            try {
+                chunkTransaction.executeWithoutResult(status -> applyChunk(adjustments, chunk, results));
+            } catch (RuntimeException e) {
+                log.warn("Stock adjustment chunk of {} products failed: {}", chunk.size(), e.getMessage());
+                for (int index : chunk) {
+                    results[index] = new StockAdjustmentResultDTO(
+                            adjustments.get(index).getProductId(), Status.FAILED, null, null);
+                }
+            }
+        }
+
+        int updated = 0;
+        for (StockAdjustmentResultDTO result : results) {
+            if (result.getStatus() == Status.UPDATED || result.getStatus() == Status.UNCHANGED) {
+                updated++;
+            }
+        }
+        return new BulkStockAdjustmentResultDTO(updated, results.length - updated,
+                System.currentTimeMillis() - start, List.of(results));
+    }
+
+    // Nearest snapshot at or before the given time, plus the movements since that happened by then
+    public StockAsOfDTO getStockAsOf(Long productId, LocalDateTime at) {
+        Snapshot snapshot = ledgerRepository.findSnapshot(productId, at);
+        long fromMovementId = snapshot != null ? snapshot.lastMovementId() : 0;
+        Replay replay = ledgerRepository.replay(productId, fromMovementId, at);
+        long stock = (snapshot != null ? snapshot.stockQuantity() : 0) + replay.quantity();
+        return new StockAsOfDTO(productId, at, stock,
+                snapshot != null ? snapshot.coversUntil() : null, replay.movements());
+    }
+
+    public List<InventoryMovementDTO> getMovements(Long productId, int limit) {
+        return ledgerRepository.findRecent(productId, limit).stream()
+                .map(movement -> new InventoryMovementDTO(movement.id(), movement.productId(), movement.type(),
+                        movement.quantity(), movement.referenceId(), movement.occurredAt()))
+                .collect(Collectors.toList());
+    }
+
+    public List<StockDriftDTO> findDrift(int limit) {
+        return ledgerRepository.findDrift(limit).stream()
+                .map(drift -> new StockDriftDTO(drift.productId(), drift.stockQuantity(), drift.ledgerQuantity()))
+                .collect(Collectors.toList());
+    }
+
+    private void applyChunk(List<StockAdjustmentRequestDTO> adjustments, List<Integer> chunk,
+                            StockAdjustmentResultDTO[] results) {
+        List<Long> productIds = new ArrayList<>(chunk.size());
+        chunk.forEach(index -> productIds.add(adjustments.get(index).getProductId()));
+
+        Map<Long, Integer> current = new HashMap<>();
+        for (ProductStock product : productStockRepository.lockProducts(productIds)) {
+            current.put(product.productId(), product.stockQuantity());
+        }
+
+        Map<Long, Integer> newLevels = new LinkedHashMap<>();
+        List<Movement> movements = new ArrayList<>();
+        for (int index : chunk) {
+            StockAdjustmentRequestDTO adjustment = adjustments.get(index);
+            Long productId = adjustment.getProductId();
+            Integer previous = current.get(productId);
+            if (previous == null) {
+                results[index] = new StockAdjustmentResultDTO(productId, Status.NOT_FOUND, null, null);
+                continue;
+            }
+            long level = adjustment.getMode() == StockAdjustmentRequestDTO.Mode.ABSOLUTE
+                    ? adjustment.getQuantity()
+                    : (long) previous + adjustment.getQuantity();
+            if (level < 0 || level > Integer.MAX_VALUE) {
+                results[index] = new StockAdjustmentResultDTO(productId, Status.REJECTED, previous, previous);
+            } else if (level == previous) {
+                results[index] = new StockAdjustmentResultDTO(productId, Status.UNCHANGED, previous, previous);
+            } else {
+                newLevels.put(productId, (int) level);
+                movements.add(InventoryLedger.movement(productId, InventoryMovementType.ADJUSTMENT,
+                        (int) level - previous, null));
+                results[index] = new StockAdjustmentResultDTO(productId, Status.UPDATED, previous, (int) level);
+            }
+        }
+
+        productStockRepository.setStock(newLevels);
+        inventoryLedger.record(movements);
+    }
+}
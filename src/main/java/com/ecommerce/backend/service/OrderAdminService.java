@@ -0,0 +1,74 @@
+package com.ecommerce.backend.service;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.backend.datasource.ShardDirectory;
+import com.ecommerce.backend.datasource.ShardQueryExecutor;
+import com.ecommerce.backend.dto.AdminOrderSummaryDTO;
+import com.ecommerce.backend.dto.ShardStatusDTO;
+import com.ecommerce.backend.entity.OrderStatus;
+
+// Order queries that span every user, answered by scatter-gather over the shards
+@Service
+public class OrderAdminService {
+
+    private final ShardQueryExecutor shardQueryExecutor;
+    private final ShardDirectory shardDirectory;
+
+    public OrderAdminService(ShardQueryExecutor shardQueryExecutor, ShardDirectory shardDirectory) {
+        this.shardQueryExecutor = shardQueryExecutor;
+        this.shardDirectory = shardDirectory;
+    }
+
+    // Newest orders across all shards: top `limit` per shard, then merged
+    public List<AdminOrderSummaryDTO> getRecentOrders(OrderStatus status, int limit) {
+        // Step 1: Ask every shard for its own newest orders
+        List<List<AdminOrderSummaryDTO>> perShard = shardQueryExecutor.onEachShard(jdbcTemplate ->
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT id, user_id, order_date, status, total_amount FROM orders "
+                            + "WHERE (?::varchar IS NULL OR status = ?) "
+                            + "ORDER BY order_date DESC LIMIT ?");
+                    String statusName = status != null ? status.name() : null;
+                    ps.setString(1, statusName);
+                    ps.setString(2, statusName);
+                    ps.setInt(3, limit);
+                    return ps;
+                }, (rs, rowNum) -> new AdminOrderSummaryDTO(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getTimestamp(3).toLocalDateTime(),
+                        OrderStatus.valueOf(rs.getString(4)),
+                        rs.getDouble(5),
+                        0)));
+
+        // Step 2: Tag each row with its shard and merge newest first
+        List<AdminOrderSummaryDTO> merged = new ArrayList<>();
+        for (int shard = 0; shard < perShard.size(); shard++) {
+            for (AdminOrderSummaryDTO order : perShard.get(shard)) {
+                order.setShard(shard);
+                merged.add(order);
+            }
+        }
+        merged.sort(Comparator.comparing(AdminOrderSummaryDTO::getOrderDate).reversed());
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    public List<ShardStatusDTO> getShardStatus() {
+        int[] buckets = shardDirectory.bucketCounts();
+        List<long[]> counts = shardQueryExecutor.onEachShard(jdbcTemplate -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), COUNT(*) FILTER (WHERE status = 'PENDING') FROM orders",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2)}));
+
+        List<ShardStatusDTO> status = new ArrayList<>();
+        for (int shard = 0; shard < counts.size(); shard++) {
+            status.add(new ShardStatusDTO(shard, buckets[shard], counts.get(shard)[0], counts.get(shard)[1]));
+        }
+        return status;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.entity.OrderStatus;
+import com.ecommerce.backend.exception.TooManyRequestsException;
+
+// Streams orders joined with their items as CSV, one line per item.
+// Each shard is read through a server-side cursor (autocommit off + fetch size), and the
+// shards are merged by order date holding one row per shard, so memory does not depend on
+// how many rows are exported. Writes go straight to the response stream: a slow client
+// blocks the writer, which stops fetching until the socket drains.
+@Service
+public class OrderExportService {
+
+    static final String HEADER = "order_id,user_id,order_date,status,total_amount,paid_at,"
+            + "item_id,product_id,quantity,price_at_order";
+
+    private static final String QUERY =
+            "SELECT o.order_date, o.id, oi.id, o.user_id, o.status, o.total_amount, o.paid_at, "
+            + "oi.product_id, oi.quantity, oi.price_at_order "
+            + "FROM orders o LEFT JOIN order_items oi ON oi.order_id = o.id "
+            + "WHERE o.order_date >= ? AND o.order_date < ? AND (?::varchar IS NULL OR o.status = ?) "
+            + "ORDER BY o.order_date, o.id, oi.id";
+
+    private final ShardDataSources shardDataSources;
+    private final int fetchSize;
+    private final Semaphore exportSlots;
+
+    public OrderExportService(ShardDataSources shardDataSources,
+                              @Value("${export.orders.fetch-size:5000}") int fetchSize,
+                              @Value("${export.orders.max-concurrent:2}") int maxConcurrent) {
+        this.shardDataSources = shardDataSources;
+        this.fetchSize = fetchSize;
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    // Order dates in [from, to); status null exports every status. Returns the number of lines written.
+    public long writeCsv(OutputStream out, LocalDateTime from, LocalDateTime to, OrderStatus status, boolean gzip)
+            throws IOException {
+        if (!exportSlots.tryAcquire()) {
+            throw new TooManyRequestsException("Another export is running, please retry shortly", 30);
+        }
+        List<Connection> connections = new ArrayList<>();
+        try {
+            // Step 1: Open a cursor on every shard
+            PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(ShardCursor.ORDER);
+            for (int shard = 0; shard < shardDataSources.count(); shard++) {
+                Connection connection = shardDataSources.get(shard).getConnection();
+                connections.add(connection);
+                ShardCursor cursor = new ShardCursor(openCursor(connection, from, to, status));
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+
+            // Step 2: Always write the row with the earliest order date next
+            OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 1 << 16);
+            writer.write(HEADER);
+            writer.write('\n');
+            long lines = 0;
+            while (!cursors.isEmpty()) {
+                ShardCursor cursor = cursors.poll();
+                cursor.writeRow(writer);
+                lines++;
+                if (cursor.next()) {
+                    cursors.add(cursor);
+                }
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            out.flush();
+            return lines;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Order export failed: " + e.getMessage(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.rollback();
+                    connection.close();
+                } catch (SQLException ignored) {
+                    // The pool discards broken connections
+                }
+            }
+            exportSlots.release();
+        }
+    }
+
+    private ResultSet openCursor(Connection connection, LocalDateTime from, LocalDateTime to, OrderStatus status)
+            throws SQLException {
+        // pgjdbc only streams with a fetch size inside a transaction; otherwise it reads the whole result
+        connection.setAutoCommit(false);
+        connection.setReadOnly(true);
+        PreparedStatement ps = connection.prepareStatement(QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        ps.setFetchSize(fetchSize);
+        ps.setTimestamp(1, Timestamp.valueOf(from));
+        ps.setTimestamp(2, Timestamp.valueOf(to));
+        String statusName = status != null ? status.name() : null;
+        ps.setString(3, statusName);
+        ps.setString(4, statusName);
+        return ps.executeQuery();
+    }
+
+    // Current row of one shard's cursor; the sort key is kept so the merge never re-reads it
+    private static final class ShardCursor {
+
+        static final Comparator<ShardCursor> ORDER = Comparator
+                .comparing((ShardCursor cursor) -> cursor.orderDate)
+                .thenComparingLong(cursor -> cursor.orderId)
+                .thenComparingLong(cursor -> cursor.itemId);
+
+        private final ResultSet rs;
+        private Timestamp orderDate;
+        private long orderId;
+        private long itemId;
+
+        private ShardCursor(ResultSet rs) {
+            this.rs = rs;
+        }
+
+        boolean next() throws SQLException {
+            if (!rs.next()) {
+                return false;
+            }
+            orderDate = rs.getTimestamp(1);
+            orderId = rs.getLong(2);
+            itemId = rs.getLong(3);
+            return true;
+        }
+
+        // Every column is a number, timestamp or enum name, so nothing needs CSV quoting
+        void writeRow(Writer writer) throws SQLException, IOException {
+            writer.write(Long.toString(orderId));
+            writer.write(',');
+            writeValue(writer, 4);
+            writer.write(',');
+            writeValue(writer, 1);
+            writer.write(',');
+            writeValue(writer, 5);
+            writer.write(',');
+            writeValue(writer, 6);
+            writer.write(',');
+            writeValue(writer, 7);
+            writer.write(',');
+            writeValue(writer, 3);
+            writer.write(',');
+            writeValue(writer, 8);
+            writer.write(',');
+            writeValue(writer, 9);
+            writer.write(',');
+            writeValue(writer, 10);
+            writer.write('\n');
+        }
+
+        private void writeValue(Writer writer, int column) throws SQLException, IOException {
+            String value = rs.getString(column);
+            if (value != null) {
+                writer.write(value);
+            }
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package com.ecommerce.backend.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
@@ -8,98 +18,171 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.backend.datasource.ShardKey;
+import com.ecommerce.backend.diagnostics.jfr.CheckoutEvent;
+import com.ecommerce.backend.diagnostics.jfr.MarkPaidEvent;
 import com.ecommerce.backend.dto.OrderItemResponseDTO;
 import com.ecommerce.backend.dto.OrderResponseDTO;
 import com.ecommerce.backend.dto.PagedResponseDTO;
 import com.ecommerce.backend.entity.Cart;
+import com.ecommerce.backend.entity.CartItem;
+import com.ecommerce.backend.entity.InventoryMovementType;
 import com.ecommerce.backend.entity.Order;
 import com.ecommerce.backend.entity.OrderItem;
 import com.ecommerce.backend.entity.OrderStatus;
-import com.ecommerce.backend.entity.Product;
 import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.exception.OrderNotPendingException;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
+import com.ecommerce.backend.inventory.InventoryLedger;
+import com.ecommerce.backend.metrics.BusinessMetrics;
+import com.ecommerce.backend.outbox.OrderEvents;
+import com.ecommerce.backend.realtime.OrderStatusStream;
 import com.ecommerce.backend.repository.CartRepository;
+import com.ecommerce.backend.repository.InventoryLedgerRepository.Movement;
+import com.ecommerce.backend.repository.OrderBatchRepository;
+import com.ecommerce.backend.repository.OrderBatchRepository.OrderLine;
 import com.ecommerce.backend.repository.OrderItemRepository;
 import com.ecommerce.backend.repository.OrderRepository;
-import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.repository.ProductStockRepository;
+import com.ecommerce.backend.repository.ProductStockRepository.ProductStock;
+import com.ecommerce.backend.repository.SalesRollupRepository;
+import com.ecommerce.backend.security.UserPrincipal;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
 
 
 @Service
+@Observed(name = "orders.service")
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final CartRepository cartRepository;
     private final CartService cartService;
-    private final ProductRepository productRepository;
+    private final OrderBatchRepository orderBatchRepository;
+    private final ProductStockRepository productStockRepository;
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderEvents orderEvents;
+    private final OrderStatusStream orderStatusStream;
+    private final InventoryLedger inventoryLedger;
+    private final BusinessMetrics metrics;
 
     public OrderService(OrderRepository orderRepository,
                     OrderItemRepository orderItemRepository,
                     CartRepository cartRepository,
                     CartService cartService,
-                    ProductRepository productRepository) {
+                    OrderBatchRepository orderBatchRepository,
+                    ProductStockRepository productStockRepository,
+                    SalesRollupRepository salesRollupRepository,
+                    OrderEvents orderEvents,
+                    OrderStatusStream orderStatusStream,
+                    InventoryLedger inventoryLedger,
+                    BusinessMetrics metrics) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.cartRepository = cartRepository;
         this.cartService = cartService;
-        this.productRepository = productRepository;
+        this.orderBatchRepository = orderBatchRepository;
+        this.productStockRepository = productStockRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderEvents = orderEvents;
+        this.orderStatusStream = orderStatusStream;
+        this.inventoryLedger = inventoryLedger;
+        this.metrics = metrics;
     }
 
     // Methods will go here
     @Transactional
-    public OrderResponseDTO placeOrder(User user){
-            
-        // Step 1: Get user's cart
-        Cart cart = cartRepository.findByUser(user)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
-        
-        // Step 2: Validate cart is not empty
-        if (cart.getItems().isEmpty()) {
-            throw new RuntimeException("Cannot place order with empty cart");
+    @Timed(value = "orders.place", histogram = true)
+    public OrderResponseDTO placeOrder(@ShardKey User user){
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
+        // Kept in locals and copied onto the event only if it is recorded
+        int cartItems = 0;
+        double totalAmount = 0;
+        long orderId = 0;
+        boolean succeeded = false;
+        try {
+            // Step 1: Get user's cart
+            Cart cart = cartRepository.findByUser(user)
+                    .orElseThrow(() -> {
+                        metrics.checkoutFailed();
+                        return new ResourceNotFoundException("Cart not found");
+                    });
+
+            // Step 2: Validate cart is not empty
+            if (cart.getItems().isEmpty()) {
+                metrics.checkoutEmptyCart();
+                throw new RuntimeException("Cannot place order with empty cart");
+            }
+
+            // Step 3: Calculate total amount
+            totalAmount = calculateTotal(cart.getItems());
+            cartItems = cart.getItems().size();
+
+            // Step 4: Create Order entity
+            Order order = new Order();
+            order.setUser(user);
+            order.setStatus(OrderStatus.PENDING);
+            order.setTotalAmount(totalAmount);
+            // orderDate is set automatically by @PrePersist
+
+            // Step 5: Save Order
+            Order savedOrder = orderRepository.save(order);
+
+            // Step 6: Create OrderItems from CartItems
+            List<OrderItem> orderItems = cart.getItems().stream()
+                    .map(cartItem -> {
+                        OrderItem orderItem = new OrderItem();
+                        orderItem.setOrder(savedOrder);
+                        orderItem.setProduct(cartItem.getProduct());
+                        orderItem.setQuantity(cartItem.getQuantity());
+                        orderItem.setPriceAtOrder(cartItem.getPriceAtAdd());
+                        return orderItem;
+                    })
+                    .collect(Collectors.toList());
+
+            // Step 7: Save OrderItems
+            orderItemRepository.saveAll(orderItems);
+            orderEvents.placed(savedOrder, user.getId(), orderItems);
+
+            // Step 8: Clear the cart
+            cartService.clearCart(user);
+
+            metrics.checkoutSucceeded();
+            orderId = savedOrder.getId();
+            succeeded = true;
+
+            // Step 9: Return OrderResponseDTO
+            savedOrder.setItems(orderItems);  // Set items for DTO conversion
+            return convertToOrderResponseDTO(savedOrder, user);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.userId = user.getId();
+                event.cartItems = cartItems;
+                event.totalAmount = totalAmount;
+                event.orderId = orderId;
+                event.succeeded = succeeded;
+                event.commit();
+            }
         }
-        
-        // Step 3: Calculate total amount
-        double totalAmount = cart.getItems().stream()
-                .mapToDouble(item -> item.getPriceAtAdd() * item.getQuantity())
-                .sum();
-        
-        // Step 4: Create Order entity
-        Order order = new Order();
-        order.setUser(user);
-        order.setStatus(OrderStatus.PENDING);
-        order.setTotalAmount(totalAmount);
-        // orderDate is set automatically by @PrePersist
-        
-        // Step 5: Save Order
-        Order savedOrder = orderRepository.save(order);
-        
-        // Step 6: Create OrderItems from CartItems
-        List<OrderItem> orderItems = cart.getItems().stream()
-                .map(cartItem -> {
-                    OrderItem orderItem = new OrderItem();
-                    orderItem.setOrder(savedOrder);
-                    orderItem.setProduct(cartItem.getProduct());
-                    orderItem.setQuantity(cartItem.getQuantity());
-                    orderItem.setPriceAtOrder(cartItem.getPriceAtAdd());
-                    return orderItem;
-                })
-                .collect(Collectors.toList());
-        
-        // Step 7: Save OrderItems
-        orderItemRepository.saveAll(orderItems);
-        
-        // Step 8: Clear the cart
-        cartService.clearCart(user);
-        
-        // Step 9: Return OrderResponseDTO
-        savedOrder.setItems(orderItems);  // Set items for DTO conversion
-        return convertToOrderResponseDTO(savedOrder);
     }
 
-    private OrderResponseDTO convertToOrderResponseDTO(Order order) {
+    // Plain loop: no stream pipeline allocated per checkout
+    static double calculateTotal(List<CartItem> items) {
+        double total = 0;
+        for (CartItem item : items) {
+            total += item.getPriceAtAdd() * item.getQuantity();
+        }
+        return total;
+    }
+
+    // The owner is passed in so the response never has to load the users row
+    OrderResponseDTO convertToOrderResponseDTO(Order order, User owner) {
         // Convert each OrderItem to OrderItemResponseDTO
         List<OrderItemResponseDTO> itemDTOs = order.getItems().stream()
                 .map(item -> {
@@ -123,8 +206,8 @@ public class OrderService {
         // Build and return OrderResponseDTO
         return new OrderResponseDTO(
                 order.getId(),
-                order.getUser().getId(),
-                order.getUser().getUsername(),
+                owner.getId(),
+                UserPrincipal.usernameOf(owner),
                 order.getOrderDate(),
                 order.getStatus(),
                 itemDTOs,
@@ -132,27 +215,29 @@ public class OrderService {
                 totalItems
         );
     }
-    public OrderResponseDTO getOrderById(User user, Long orderId) {
+    @Transactional(readOnly = true)
+    public OrderResponseDTO getOrderById(@ShardKey User user, Long orderId) {
         // Find order by ID and user (security check)
         Order order = orderRepository.findByIdAndUser(orderId, user)
                 .orElseThrow(() -> new ResourceNotFoundException(
                     "Order not found with id: " + orderId));
         
-        return convertToOrderResponseDTO(order);
+        return convertToOrderResponseDTO(order, user);
     }
 
-    public List<OrderResponseDTO> getOrderHistory(User user) {
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> getOrderHistory(@ShardKey User user) {
         // Find all orders for this user
         List<Order> orders = orderRepository.findByUser(user);
         
         // Convert to DTOs
         return orders.stream()
-                .map(this::convertToOrderResponseDTO)
+                .map(order -> convertToOrderResponseDTO(order, user))
                 .collect(Collectors.toList());
     }
 
     @Transactional
-    public OrderResponseDTO cancelOrder(User user, Long orderId) {
+    public OrderResponseDTO cancelOrder(@ShardKey User user, Long orderId) {
         // Step 1: Find order and verify ownership
         Order order = orderRepository.findByIdAndUser(orderId, user)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -167,13 +252,17 @@ public class OrderService {
         // Step 3: Update status to CANCELLED
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+
+        orderEvents.cancelled(order, user.getId());
+        orderStatusStream.statusChanged(user.getId(), order.getId(), OrderStatus.CANCELLED);
         
         // Step 4: Return updated order
-        return convertToOrderResponseDTO(order);
+        return convertToOrderResponseDTO(order, user);
     }
 
     // Get order history with pagination
-    public PagedResponseDTO<OrderResponseDTO> getOrderHistory(User user, int page, int size) {
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<OrderResponseDTO> getOrderHistory(@ShardKey User user, int page, int size) {
         // Create pageable object (sort by orderDate descending - newest first)
         Pageable pageable = PageRequest.of(page, size, Sort.by("orderDate").descending());
         
@@ -182,7 +271,7 @@ public class OrderService {
         
         // Convert to DTOs
         List<OrderResponseDTO> orderDTOs = orderPage.getContent().stream()
-                .map(this::convertToOrderResponseDTO)
+                .map(order -> convertToOrderResponseDTO(order, user))
                 .collect(Collectors.toList());
         
         // Build paginated response
@@ -197,38 +286,147 @@ public class OrderService {
         );
     }
 
-    // Mark order as paid and reduce stock (called by webhook)
+    // Mark order as paid and reduce stock
     @Transactional
-    public void markOrderAsPaid(Long orderId) {
-        // Find order
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
-        
-        // Verify order is in PENDING status
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new RuntimeException("Order is not in PENDING status. Current status: " + order.getStatus());
+    @Timed(value = "orders.mark_paid", extraTags = {"mode", "single"}, histogram = true)
+    public void markOrderAsPaid(@ShardKey Long orderId) {
+        RuntimeException failure = markOrdersAsPaid(List.of(orderId)).get(orderId);
+        if (failure != null) {
+            throw failure;
         }
-        
-        // Reduce stock for each order item
-        for (var orderItem : order.getItems()) {
-            Product product = orderItem.getProduct();
-            
-            // Check if sufficient stock available
-            if (product.getStockQuantity() < orderItem.getQuantity()) {
-                throw new RuntimeException(
-                    "Insufficient stock for product: " + product.getName() + 
-                    ". Available: " + product.getStockQuantity() + 
-                    ", Required: " + orderItem.getQuantity()
-                );
+    }
+
+    // Mark a batch of orders as paid and reduce stock (called by the webhook inbox).
+    // Each order is all-or-nothing on its own: failures are returned per order id
+    // and do not stop the rest of the batch. All ids must be on one shard.
+    @Transactional
+    @Timed(value = "orders.mark_paid", extraTags = {"mode", "batch"}, histogram = true)
+    public Map<Long, RuntimeException> markOrdersAsPaid(@ShardKey Collection<Long> orderIds) {
+        Map<Long, RuntimeException> failures = new HashMap<>();
+        Set<Long> uniqueOrderIds = new LinkedHashSet<>(orderIds);
+        if (uniqueOrderIds.isEmpty()) {
+            return failures;
+        }
+        MarkPaidEvent event = new MarkPaidEvent();
+        event.begin();
+
+        // Step 1: Lock the orders and load their items
+        Map<Long, List<OrderLine>> linesByOrder = new HashMap<>();
+        for (OrderLine line : orderBatchRepository.lockOrderLines(uniqueOrderIds)) {
+            linesByOrder.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line);
+        }
+
+        // Steps 2-3 run where the stock lives (see ProductStockRepository)
+        Map<Long, ProductStock> products = new HashMap<>();
+        List<Long> paidOrderIds = new ArrayList<>();
+        Map<Long, Integer> decrements = productStockRepository.inStockTransaction(() -> {
+            // Step 2: Lock every product in the batch and read its stock
+            Set<Long> productIds = new HashSet<>();
+            linesByOrder.values().forEach(lines -> lines.stream()
+                    .map(OrderLine::productId)
+                    .filter(Objects::nonNull)
+                    .forEach(productIds::add));
+
+            Map<Long, Integer> available = new HashMap<>();
+            if (!productIds.isEmpty()) {
+                for (ProductStock product : productStockRepository.lockProducts(productIds)) {
+                    products.put(product.productId(), product);
+                    available.put(product.productId(), product.stockQuantity());
+                }
+            }
+
+            // Step 3: Check each order against the remaining stock, in arrival order
+            Map<Long, Integer> toDecrement = new HashMap<>();
+            for (Long orderId : uniqueOrderIds) {
+                List<OrderLine> lines = linesByOrder.get(orderId);
+                if (lines == null) {
+                    failures.put(orderId, new ResourceNotFoundException("Order not found with id: " + orderId));
+                    continue;
+                }
+
+                OrderStatus status = OrderStatus.valueOf(lines.get(0).status());
+                if (status != OrderStatus.PENDING) {
+                    failures.put(orderId, new OrderNotPendingException(orderId, status));
+                    continue;
+                }
+
+                Map<Long, Integer> reserved = new HashMap<>();
+                RuntimeException failure = null;
+                for (OrderLine line : lines) {
+                    if (line.productId() == null) {
+                        continue;
+                    }
+                    int remaining = available.getOrDefault(line.productId(), 0)
+                            - reserved.getOrDefault(line.productId(), 0);
+
+                    // Check if sufficient stock available
+                    if (remaining < line.quantity()) {
+                        ProductStock product = products.get(line.productId());
+                        failure = new RuntimeException(
+                            "Insufficient stock for product: " + (product != null ? product.name() : line.productId()) +
+                            ". Available: " + remaining +
+                            ", Required: " + line.quantity()
+                        );
+                        break;
+                    }
+                    reserved.merge(line.productId(), line.quantity(), Integer::sum);
+                }
+
+                if (failure != null) {
+                    metrics.insufficientStockAtPayment();
+                    event.stockConflicts++;
+                    failures.put(orderId, failure);
+                    continue;
+                }
+
+                reserved.forEach((productId, quantity) -> {
+                    available.merge(productId, -quantity, Integer::sum);
+                    toDecrement.merge(productId, quantity, Integer::sum);
+                });
+                paidOrderIds.add(orderId);
+            }
+
+            // Step 4a: Apply stock decrements as one statement, and ledger them per order line
+            // with one INSERT in the same stock transaction
+            productStockRepository.decrementStock(toDecrement);
+            List<Movement> sales = new ArrayList<>();
+            for (Long orderId : paidOrderIds) {
+                for (OrderLine line : linesByOrder.get(orderId)) {
+                    if (line.productId() != null) {
+                        sales.add(InventoryLedger.movement(line.productId(), InventoryMovementType.SALE,
+                                -line.quantity(), orderId));
+                    }
+                }
             }
-            
-            // Reduce stock
-            product.setStockQuantity(product.getStockQuantity() - orderItem.getQuantity());
-            productRepository.save(product);
+            inventoryLedger.record(sales);
+            return toDecrement;
+        });
+        productStockRepository.compensateOnRollback(decrements);
+
+        // Step 4b: Status updates as one statement
+        LocalDateTime paidAt = LocalDateTime.now();
+        orderBatchRepository.markPaid(paidOrderIds, paidAt);
+
+        // Step 4c: Sales rollups, events and status notifications for the paid orders
+        Map<Long, List<OrderLine>> paidLines = new LinkedHashMap<>();
+        Map<Long, Long> paidOrderOwners = new LinkedHashMap<>();
+        for (Long orderId : paidOrderIds) {
+            List<OrderLine> lines = linesByOrder.get(orderId);
+            paidLines.put(orderId, lines);
+            orderEvents.paid(orderId, lines);
+            paidOrderOwners.put(orderId, lines.get(0).userId());
         }
-        
-        // Update order status to PAID
-        order.setStatus(OrderStatus.PAID);
-        orderRepository.save(order);
+        salesRollupRepository.add(paidLines, paidAt);
+        orderStatusStream.statusChanged(paidOrderOwners, OrderStatus.PAID);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.orders = uniqueOrderIds.size();
+            event.items = linesByOrder.values().stream().mapToInt(List::size).sum();
+            event.productsLocked = products.size();
+            event.failures = failures.size();
+            event.commit();
+        }
+        return failures;
     }
 }
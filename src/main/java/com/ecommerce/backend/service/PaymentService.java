@@ -4,6 +4,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.ecommerce.backend.datasource.ShardKey;
+import com.ecommerce.backend.diagnostics.jfr.PaymentIntentEvent;
 import com.ecommerce.backend.dto.PaymentIntentRequestDTO;
 import com.ecommerce.backend.dto.PaymentIntentResponseDTO;
 import com.ecommerce.backend.entity.Order;
@@ -16,23 +18,39 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
+
 @Service
+@Observed(name = "payments.service")
 public class PaymentService {
 
     private final OrderRepository orderRepository;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${stripe.api.key}")
     private String stripeApiKey;
 
-    public PaymentService(OrderRepository orderRepository) {
+    // Override for a local Stripe stub (load tests); empty means api.stripe.com
+    @Value("${stripe.api.base:}")
+    private String stripeApiBase;
+
+    public PaymentService(OrderRepository orderRepository, ObservationRegistry observationRegistry) {
         this.orderRepository = orderRepository;
+        this.observationRegistry = observationRegistry;
     }
 
     // Create payment intent for an order
     @Transactional
-    public PaymentIntentResponseDTO createPaymentIntent(User user, PaymentIntentRequestDTO request) {
+    @Timed(value = "payments.create_intent", histogram = true)
+    public PaymentIntentResponseDTO createPaymentIntent(@ShardKey User user, PaymentIntentRequestDTO request) {
         // Set Stripe API key
         Stripe.apiKey = stripeApiKey;
+        if (!stripeApiBase.isEmpty()) {
+            Stripe.overrideApiBase(stripeApiBase);
+        }
 
         // Find order and verify ownership
         Order order = orderRepository.findByIdAndUser(request.getOrderId(), user)
@@ -62,7 +80,30 @@ public class PaymentService {
                     .build();
 
             // Create payment intent with Stripe
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
+            PaymentIntentEvent event = new PaymentIntentEvent();
+            event.begin();
+            PaymentIntent paymentIntent;
+            // Client span for the remote call, child of the current request/service span
+            Observation observation = Observation.createNotStarted("stripe.client", observationRegistry)
+                    .contextualName("stripe payment_intents.create")
+                    .lowCardinalityKeyValue("stripe.operation", "payment_intents.create")
+                    .highCardinalityKeyValue("order.id", String.valueOf(order.getId()))
+                    .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                paymentIntent = PaymentIntent.create(params);
+                event.succeeded = true;
+            } catch (StripeException | RuntimeException e) {
+                observation.error(e);
+                throw e;
+            } finally {
+                observation.stop();
+                event.end();
+                if (event.shouldCommit()) {
+                    event.orderId = order.getId();
+                    event.amountInCents = amountInCents;
+                    event.commit();
+                }
+            }
 
             // Return response for frontend
             return new PaymentIntentResponseDTO(
@@ -1,15 +1,23 @@
 package com.ecommerce.backend.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.ecommerce.backend.dto.ProductRequestDTO;
 import com.ecommerce.backend.dto.ProductResponseDTO;
+import com.ecommerce.backend.dto.TrendingProductDTO;
 import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.InventoryMovementType;
 import com.ecommerce.backend.entity.Product;
 import com.ecommerce.backend.exception.ResourceNotFoundException;
+import com.ecommerce.backend.inventory.InventoryLedger;
+import com.ecommerce.backend.popularity.ProductViewCounter;
+import com.ecommerce.backend.popularity.ProductViewCounter.TrendingProduct;
 import com.ecommerce.backend.repository.CategoryRepository;
 import com.ecommerce.backend.repository.ProductRepository;
 import org.springframework.data.domain.Page;
@@ -23,13 +31,19 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final InventoryLedger inventoryLedger;
+    private final ProductViewCounter productViewCounter;
     // Note: This service uses Java Streams for collection transformations.
     // Stream operations: .stream() creates a stream, .map() transforms each element,
     // .collect() gathers results back into a collection.
     public ProductService(ProductRepository productRepository,
-                        CategoryRepository categoryRepository) {
+                        CategoryRepository categoryRepository,
+                        InventoryLedger inventoryLedger,
+                        ProductViewCounter productViewCounter) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.productViewCounter = productViewCounter;
     }
     public ProductResponseDTO createProduct(ProductRequestDTO requestDTO) {
         // Find category
@@ -48,23 +62,47 @@ public class ProductService {
 
         // Save entity
         Product savedProduct = productRepository.save(product);
+        inventoryLedger.record(savedProduct.getId(), InventoryMovementType.IMPORT, savedProduct.getStockQuantity(), null);
 
         // Convert entity back to Response DTO
         return convertToProductResponseDTO(savedProduct);
     }
 
+    @Transactional(readOnly = true)
     public List<ProductResponseDTO> getAllProducts() {
         return productRepository.findAll().stream()
                 .map(this::convertToProductResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ProductResponseDTO getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        // In-memory increment only; counts reach the database on the next flush
+        productViewCounter.recordView(id);
         return convertToProductResponseDTO(product);
     }
 
+    // Most viewed products lately, from this instance's view sketch
+    @Transactional(readOnly = true)
+    public List<TrendingProductDTO> getTrendingProducts(int limit) {
+        List<TrendingProduct> trending = productViewCounter.trending(limit);
+        Map<Long, Product> products = productRepository.findAllById(
+                        trending.stream().map(TrendingProduct::productId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Deleted products drop out
+        return trending.stream()
+                .filter(entry -> products.containsKey(entry.productId()))
+                .map(entry -> {
+                    Product product = products.get(entry.productId());
+                    return new TrendingProductDTO(product.getId(), product.getName(), product.getPrice(), entry.score());
+                })
+                .collect(Collectors.toList());
+    }
+
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
     }
@@ -97,6 +135,7 @@ public class ProductService {
     }
 
     // Get products with pagination
+    @Transactional(readOnly = true)
     public PagedResponseDTO<ProductResponseDTO> getProducts(int page, int size, String sortBy, String sortDir) {
         // Create sort object
         Sort sort = sortDir.equalsIgnoreCase("desc") 
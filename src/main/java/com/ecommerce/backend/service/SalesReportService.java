@@ -0,0 +1,105 @@
+package com.ecommerce.backend.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.backend.datasource.ShardQueryExecutor;
+import com.ecommerce.backend.dto.CategorySalesDTO;
+import com.ecommerce.backend.dto.ProductSalesDTO;
+import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.repository.CategoryRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+
+// Revenue reports answered from the daily sales rollups, never from orders/order_items.
+// Each shard sums its own rollups; the per-key totals are then added up here.
+@Service
+public class SalesReportService {
+
+    private final ShardQueryExecutor shardQueryExecutor;
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+
+    public SalesReportService(ShardQueryExecutor shardQueryExecutor,
+                              CategoryRepository categoryRepository,
+                              ProductRepository productRepository) {
+        this.shardQueryExecutor = shardQueryExecutor;
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+    }
+
+    private record Totals(long keyId, BigDecimal revenue, long units, long orders) {
+    }
+
+    // Revenue by category over the last `days` days, today included
+    @Transactional(readOnly = true)
+    public List<CategorySalesDTO> getSalesByCategory(int days) {
+        List<Totals> totals = sumByKey("CATEGORY", days);
+
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(totals.stream().map(Totals::keyId).toList())) {
+            names.put(category.getId(), category.getName());
+        }
+        List<CategorySalesDTO> result = new ArrayList<>(totals.size());
+        for (Totals total : totals) {
+            result.add(new CategorySalesDTO(total.keyId(), names.get(total.keyId()),
+                    total.revenue(), total.units(), total.orders()));
+        }
+        return result;
+    }
+
+    // Best-selling products by revenue over the last `days` days
+    @Transactional(readOnly = true)
+    public List<ProductSalesDTO> getTopProducts(int days, int limit) {
+        List<Totals> totals = sumByKey("PRODUCT", days);
+        if (totals.size() > limit) {
+            totals = totals.subList(0, limit);
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (Product product : productRepository.findAllById(totals.stream().map(Totals::keyId).toList())) {
+            names.put(product.getId(), product.getName());
+        }
+        List<ProductSalesDTO> result = new ArrayList<>(totals.size());
+        for (Totals total : totals) {
+            result.add(new ProductSalesDTO(total.keyId(), names.get(total.keyId()),
+                    total.revenue(), total.units(), total.orders()));
+        }
+        return result;
+    }
+
+    // Merged totals per key, highest revenue first
+    private List<Totals> sumByKey(String dimension, int days) {
+        Timestamp since = Timestamp.valueOf(LocalDate.now().minusDays(days - 1L).atStartOfDay());
+
+        // Step 1: Each shard sums its day rows
+        List<List<Totals>> perShard = shardQueryExecutor.onEachShard(jdbcTemplate -> jdbcTemplate.query(
+                "SELECT key_id, SUM(revenue), SUM(units), SUM(order_count) FROM sales_rollups "
+                + "WHERE granularity = 'DAY' AND dimension = ? AND period_start >= ? "
+                + "GROUP BY key_id",
+                (rs, rowNum) -> new Totals(rs.getLong(1), rs.getBigDecimal(2), rs.getLong(3), rs.getLong(4)),
+                dimension, since));
+
+        // Step 2: Add up the shards
+        Map<Long, Totals> merged = new LinkedHashMap<>();
+        for (List<Totals> shardTotals : perShard) {
+            for (Totals total : shardTotals) {
+                merged.merge(total.keyId(), total, (a, b) -> new Totals(a.keyId(),
+                        a.revenue().add(b.revenue()), a.units() + b.units(), a.orders() + b.orders()));
+            }
+        }
+        List<Totals> sorted = new ArrayList<>(merged.values());
+        sorted.sort(Comparator.comparing(Totals::revenue).reversed());
+        return sorted;
+    }
+}
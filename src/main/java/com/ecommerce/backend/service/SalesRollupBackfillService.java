@@ -0,0 +1,127 @@
+package com.ecommerce.backend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.dto.RollupBackfillResultDTO;
+
+// Rebuilds sales_rollups from order history, one day per shard per transaction, days in parallel.
+// Only whole days before today are rebuilt: live payments only ever touch today's rows,
+// so a rebuilt day can't lose a concurrent increment.
+@Service
+public class SalesRollupBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupBackfillService.class);
+
+    private final ShardDataSources shardDataSources;
+    private final int threads;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SalesRollupBackfillService(ShardDataSources shardDataSources,
+                                      @Value("${sales.rollups.backfill-threads:4}") int threads) {
+        this.shardDataSources = shardDataSources;
+        this.threads = threads;
+    }
+
+    public RollupBackfillResultDTO backfill(LocalDate from, LocalDate to) {
+        LocalDate end = to.isAfter(LocalDate.now()) ? LocalDate.now() : to;
+        if (!from.isBefore(end)) {
+            throw new RuntimeException("Nothing to backfill: from must be before " + end);
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("A sales rollup backfill is already running");
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "rollup-backfill-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // Step 1: Paid orders from before paid_at existed count at their order date
+            for (int shard = 0; shard < shardDataSources.count(); shard++) {
+                new JdbcTemplate(shardDataSources.get(shard)).update(
+                        "UPDATE orders SET paid_at = order_date WHERE status = 'PAID' AND paid_at IS NULL");
+            }
+
+            // Step 2: One task per shard and day
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (int shard = 0; shard < shardDataSources.count(); shard++) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(shardDataSources.get(shard));
+                TransactionTemplate transaction = new TransactionTemplate(
+                        new DataSourceTransactionManager(shardDataSources.get(shard)));
+                for (LocalDate day = from; day.isBefore(end); day = day.plusDays(1)) {
+                    LocalDate chunkDay = day;
+                    chunks.add(executor.submit(() -> transaction.execute(status -> rebuildDay(jdbcTemplate, chunkDay))));
+                }
+            }
+
+            // Step 3: Wait for all of them; a failed day can simply be backfilled again
+            long rows = 0;
+            for (Future<Integer> chunk : chunks) {
+                rows += chunk.get();
+            }
+            long durationMs = System.currentTimeMillis() - start;
+            log.info("Rebuilt sales rollups for {} to {}: {} chunks, {} rows in {} ms", from, end, chunks.size(), rows, durationMs);
+            return new RollupBackfillResultDTO(from, end, chunks.size(), rows, durationMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during sales rollup backfill", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Sales rollup backfill failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private int rebuildDay(JdbcTemplate jdbcTemplate, LocalDate day) {
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+
+        jdbcTemplate.update("DELETE FROM sales_rollups WHERE period_start >= ? AND period_start < ?", from, to);
+
+        // Hours from the orders
+        int rows = jdbcTemplate.update(
+                "INSERT INTO sales_rollups (granularity, period_start, dimension, key_id, revenue, units, order_count) "
+                + "SELECT 'HOUR', date_trunc('hour', o.paid_at), d.dimension, d.key_id, "
+                + "SUM(oi.price_at_order * oi.quantity), SUM(oi.quantity), COUNT(DISTINCT o.id) "
+                + "FROM orders o "
+                + "JOIN order_items oi ON oi.order_id = o.id "
+                + "JOIN products p ON p.id = oi.product_id "
+                + "CROSS JOIN LATERAL (VALUES ('PRODUCT', oi.product_id), ('CATEGORY', p.category_id)) AS d(dimension, key_id) "
+                + "WHERE o.status = 'PAID' "
+                + "AND o.paid_at >= ? AND o.paid_at < ? "
+                + "GROUP BY 2, 3, 4",
+                from, to);
+
+        // The day from its hours (an order falls in exactly one hour, so order counts add up)
+        rows += jdbcTemplate.update(
+                "INSERT INTO sales_rollups (granularity, period_start, dimension, key_id, revenue, units, order_count) "
+                + "SELECT 'DAY', ?, dimension, key_id, SUM(revenue), SUM(units), SUM(order_count) "
+                + "FROM sales_rollups "
+                + "WHERE granularity = 'HOUR' AND period_start >= ? AND period_start < ? "
+                + "GROUP BY dimension, key_id",
+                from, from, to);
+        return rows;
+    }
+}
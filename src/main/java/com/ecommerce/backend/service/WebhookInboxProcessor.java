@@ -0,0 +1,213 @@
+package com.ecommerce.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.backend.datasource.ShardDirectory;
+import com.ecommerce.backend.diagnostics.jfr.WebhookBatchEvent;
+import com.ecommerce.backend.entity.WebhookEvent;
+import com.ecommerce.backend.exception.OrderNotPendingException;
+import com.ecommerce.backend.metrics.BusinessMetrics;
+import com.stripe.model.Event;
+import com.stripe.model.PaymentIntent;
+
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+
+// Drains the webhook inbox on a bounded worker pool.
+// Each poll claims the events that arrived during the last poll interval and hands
+// them to a worker as one batch, so a burst of payment_intent.succeeded events is
+// applied with a handful of statements instead of one transaction per order.
+@Component
+public class WebhookInboxProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookInboxProcessor.class);
+
+    private final WebhookInboxService inboxService;
+    private final OrderService orderService;
+    private final ShardDirectory shardDirectory;
+    private final BusinessMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final ObservationRegistry observationRegistry;
+    private final ContextSnapshotFactory contextSnapshotFactory = ContextSnapshotFactory.builder().build();
+    private final int batchSize;
+    private final Duration staleTimeout;
+
+    public WebhookInboxProcessor(WebhookInboxService inboxService,
+                                 OrderService orderService,
+                                 ShardDirectory shardDirectory,
+                                 BusinessMetrics metrics,
+                                 ObservationRegistry observationRegistry,
+                                 @Value("${webhook.inbox.workers:4}") int workers,
+                                 @Value("${webhook.inbox.queue-capacity:8}") int queueCapacity,
+                                 @Value("${webhook.inbox.batch-size:200}") int batchSize,
+                                 @Value("${webhook.inbox.stale-timeout-ms:300000}") long staleTimeoutMs) {
+        this.inboxService = inboxService;
+        this.orderService = orderService;
+        this.shardDirectory = shardDirectory;
+        this.metrics = metrics;
+        this.observationRegistry = observationRegistry;
+        this.batchSize = batchSize;
+        this.staleTimeout = Duration.ofMillis(staleTimeoutMs);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "webhook-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // The poll interval doubles as the coalescing window for payment events
+    @Scheduled(fixedDelayString = "${webhook.inbox.poll-interval-ms:500}")
+    public void poll() {
+        // Only claim what the pool can take right now, so claimed rows never sit behind a full queue.
+        // Keep claiming while batches come back full - we are behind and should catch up.
+        while (executor.getQueue().remainingCapacity() > 0) {
+            List<WebhookEvent> events = inboxService.claimBatch(batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+            // Carry the poll's trace context onto the worker thread
+            executor.execute(contextSnapshotFactory.captureAll().wrap(() ->
+                    Observation.createNotStarted("webhook.batch", observationRegistry)
+                            .lowCardinalityKeyValue("webhook.source", "stripe")
+                            .highCardinalityKeyValue("webhook.events", String.valueOf(events.size()))
+                            .observe(() -> processBatch(events))));
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.stale-check-interval-ms:60000}")
+    public void releaseStale() {
+        int released = inboxService.releaseStale(staleTimeout);
+        if (released > 0) {
+            log.warn("Released {} stale webhook events back to the inbox", released);
+        }
+    }
+
+    private void processBatch(List<WebhookEvent> events) {
+        WebhookBatchEvent jfrEvent = new WebhookBatchEvent();
+        jfrEvent.begin();
+        List<String> processed = new ArrayList<>();
+        Map<String, String> typeById = new HashMap<>();
+        events.forEach(event -> typeById.put(event.getId(), event.getType()));
+        Map<Long, List<String>> eventIdsByOrder = new LinkedHashMap<>();
+
+        // Step 1: Parse events and collect paid order ids
+        for (WebhookEvent inboxEvent : events) {
+            try {
+                Long orderId = paidOrderId(inboxEvent);
+                if (orderId == null) {
+                    processed.add(inboxEvent.getId());
+                } else {
+                    eventIdsByOrder.computeIfAbsent(orderId, id -> new ArrayList<>()).add(inboxEvent.getId());
+                }
+            } catch (Exception e) {
+                inboxService.markFailed(inboxEvent.getId(), e.getMessage());
+            }
+        }
+
+        // Step 2: Mark paid orders in one transaction per shard; failures are per order
+        Map<Integer, List<Long>> ordersByShard = new TreeMap<>();
+        eventIdsByOrder.keySet().forEach(orderId -> ordersByShard
+                .computeIfAbsent(shardDirectory.shardForOrder(orderId), shard -> new ArrayList<>())
+                .add(orderId));
+        int failedOrders = 0;
+        int alreadyHandled = 0;
+        for (List<Long> orderIds : ordersByShard.values()) {
+            try {
+                Map<Long, RuntimeException> failures = orderService.markOrdersAsPaid(orderIds);
+                for (Long orderId : orderIds) {
+                    RuntimeException failure = failures.get(orderId);
+                    if (failure == null) {
+                        processed.addAll(eventIdsByOrder.get(orderId));
+                    } else if (failure instanceof OrderNotPendingException notPending) {
+                        // Already paid (a redelivery) or cancelled: retrying can't change anything, so ack it
+                        log.info("Ignoring payment for order {}: already {}", orderId, notPending.getStatus());
+                        processed.addAll(eventIdsByOrder.get(orderId));
+                        alreadyHandled++;
+                    } else {
+                        eventIdsByOrder.get(orderId).forEach(eventId -> inboxService.markFailed(eventId, failure.getMessage()));
+                        failedOrders++;
+                    }
+                }
+            } catch (Exception e) {
+                // Whole shard's batch rolled back (e.g. deadlock or lost connection) - retry its events
+                orderIds.forEach(orderId -> eventIdsByOrder.get(orderId)
+                        .forEach(eventId -> inboxService.markFailed(eventId, e.getMessage())));
+                failedOrders += orderIds.size();
+            }
+        }
+        if (!eventIdsByOrder.isEmpty()) {
+            log.info("Payment succeeded for {} orders ({} failed, {} already handled)",
+                    eventIdsByOrder.size() - failedOrders - alreadyHandled, failedOrders, alreadyHandled);
+        }
+
+        // Step 3: Ack everything that went through with a single update
+        inboxService.markProcessed(processed);
+        processed.forEach(eventId -> metrics.webhookEvent(typeById.get(eventId), "processed"));
+
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.events = events.size();
+            jfrEvent.orders = eventIdsByOrder.size();
+            jfrEvent.failedEvents = events.size() - processed.size();
+            jfrEvent.commit();
+        }
+    }
+
+    // Order id of a payment_intent.succeeded event, or null for events we just acknowledge
+    private Long paidOrderId(WebhookEvent inboxEvent) {
+        // Signature was verified on receipt, so the stored payload can be parsed directly
+        Event event = Event.GSON.fromJson(inboxEvent.getPayload(), Event.class);
+
+        if (!"payment_intent.succeeded".equals(event.getType())) {
+            return null;
+        }
+
+        PaymentIntent paymentIntent = (PaymentIntent) event.getDataObjectDeserializer()
+                .getObject()
+                .orElse(null);
+        if (paymentIntent == null) {
+            throw new RuntimeException("Could not deserialize payment intent for event " + event.getId());
+        }
+
+        String orderIdStr = paymentIntent.getMetadata().get("orderId");
+        if (orderIdStr == null) {
+            log.warn("Payment intent {} has no orderId metadata, ignoring", paymentIntent.getId());
+            return null;
+        }
+        return Long.parseLong(orderIdStr);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        // Unfinished events stay PROCESSING and are released by the stale check on the next start
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
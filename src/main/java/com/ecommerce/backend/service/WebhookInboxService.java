@@ -0,0 +1,108 @@
+package com.ecommerce.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.ecommerce.backend.entity.WebhookEvent;
+import com.ecommerce.backend.entity.WebhookEventStatus;
+import com.ecommerce.backend.metrics.BusinessMetrics;
+import com.ecommerce.backend.repository.WebhookEventRepository;
+import com.stripe.model.Event;
+
+@Service
+public class WebhookInboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookInboxService.class);
+
+    private final WebhookEventRepository webhookEventRepository;
+    private final BusinessMetrics metrics;
+
+    @Value("${webhook.inbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${webhook.inbox.backoff-base-ms:2000}")
+    private long backoffBaseMs;
+
+    @Value("${webhook.inbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    public WebhookInboxService(WebhookEventRepository webhookEventRepository, BusinessMetrics metrics) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.metrics = metrics;
+    }
+
+    // Persist a verified event; returns false if this event id was already stored
+    @Transactional
+    public boolean receive(Event event, String payload) {
+        int inserted = webhookEventRepository.insertIfAbsent(
+                event.getId(), event.getType(), payload, LocalDateTime.now());
+        return inserted > 0;
+    }
+
+    // Claim up to `limit` due events for this worker
+    @Transactional
+    public List<WebhookEvent> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookEvent> events = webhookEventRepository.findDueForUpdate(now, limit);
+        for (WebhookEvent event : events) {
+            event.setStatus(WebhookEventStatus.PROCESSING);
+            event.setLockedAt(now);
+        }
+        return events;
+    }
+
+    @Transactional
+    public void markProcessed(Collection<String> eventIds) {
+        if (!eventIds.isEmpty()) {
+            webhookEventRepository.markProcessed(eventIds, LocalDateTime.now());
+        }
+    }
+
+    // Schedule a retry with exponential backoff, or dead-letter the event
+    @Transactional
+    public void markFailed(String eventId, String error) {
+        webhookEventRepository.findById(eventId).ifPresent(event -> {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLockedAt(null);
+            event.setLastError(truncate(error));
+
+            if (attempts >= maxAttempts) {
+                event.setStatus(WebhookEventStatus.DEAD);
+                metrics.webhookEvent(event.getType(), "dead");
+                log.error("Webhook event {} dead-lettered after {} attempts: {}", eventId, attempts, error);
+            } else {
+                event.setStatus(WebhookEventStatus.PENDING);
+                metrics.webhookEvent(event.getType(), "retry");
+                event.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+                log.warn("Webhook event {} failed (attempt {}), retrying: {}", eventId, attempts, error);
+            }
+        });
+    }
+
+    // Requeue events stuck in PROCESSING longer than the timeout
+    @Transactional
+    public int releaseStale(Duration timeout) {
+        return webhookEventRepository.releaseStale(LocalDateTime.now().minus(timeout));
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, backoffMaxMs));
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
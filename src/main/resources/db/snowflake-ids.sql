@@ -0,0 +1,24 @@
+-- Moving an existing database from IDENTITY ids to application-assigned time-ordered ids.
+--
+-- Existing rows keep their ids. New ids are (ms since 2024-01-01) << 22 plus node and
+-- sequence bits - around 2^58 by 2026 and far above any identity value - so old and new
+-- ids never collide and foreign keys need no rewrite. Running this script is optional: "GENERATED BY DEFAULT
+-- AS IDENTITY" columns already accept explicit ids. It drops the now unused identity
+-- sequences so nothing can hand out a small id by accident.
+--
+--   psql -d ecommerce_db -f src/main/resources/db/snowflake-ids.sql
+
+BEGIN;
+
+ALTER TABLE users       ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories  ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products    ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE carts       ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE cart_items  ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders      ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- Bucketed order ids before they became time-ordered
+DROP SEQUENCE IF EXISTS order_id_seq;
+
+COMMIT;
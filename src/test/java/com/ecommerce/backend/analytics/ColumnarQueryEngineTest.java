@@ -0,0 +1,85 @@
+package com.ecommerce.backend.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.backend.analytics.ColumnarQuery.GroupBy;
+import com.ecommerce.backend.analytics.ColumnarQuery.Metric;
+import com.ecommerce.backend.entity.OrderStatus;
+
+class ColumnarQueryEngineTest {
+
+	private final ForkJoinPool pool = new ForkJoinPool(4);
+	private final ColumnarQueryEngine engine = new ColumnarQueryEngine(pool);
+
+	@AfterEach
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	void topKMatchesNaiveAggregation() {
+		// Enough rows for several zone-map blocks and fork-join splits
+		OrderLineColumns columns = new OrderLineColumns(1024, 1_000_000);
+		Random random = new Random(42);
+		long[][] rows = new long[300_000][];
+		for (int i = 0; i < rows.length; i++) {
+			long product = 1 + random.nextInt(500);
+			long category = 1 + product % 7;
+			long date = 1_000_000L + i * 10L;
+			byte status = (byte) random.nextInt(OrderStatus.values().length);
+			int quantity = 1 + random.nextInt(5);
+			rows[i] = new long[] {product, category, date, status, quantity};
+			columns.append(i, product, category, date, status, quantity, 2.5);
+		}
+		columns.publish();
+
+		long from = 1_000_000L + 50_000 * 10L;
+		long to = 1_000_000L + 250_000 * 10L;
+		ColumnarQuery query = new ColumnarQuery(from, to, 3L, OrderStatus.PAID, GroupBy.PRODUCT, Metric.REVENUE, 5);
+
+		Map<Long, Double> expected = new HashMap<>();
+		for (long[] row : rows) {
+			if (row[2] >= from && row[2] < to && row[1] == 3 && row[3] == OrderStatus.PAID.ordinal()) {
+				expected.merge(row[0], row[4] * 2.5, Double::sum);
+			}
+		}
+		List<Map.Entry<Long, Double>> expectedTop = expected.entrySet().stream()
+				.sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+				.limit(5)
+				.toList();
+
+		List<ColumnarQueryEngine.Entry> top = engine.topK(columns.snapshot(), query);
+
+		assertEquals(5, top.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(expectedTop.get(i).getValue(), top.get(i).value(), 1e-6);
+		}
+	}
+
+	@Test
+	void statusUpdatesAreVisibleToLaterQueries() {
+		OrderLineColumns columns = new OrderLineColumns(16, 100);
+		columns.append(1, 10, 1, 5, (byte) OrderStatus.PENDING.ordinal(), 2, 1.0);
+		columns.publish();
+		ColumnarQuery paidUnits = new ColumnarQuery(0, 10, null, OrderStatus.PAID, GroupBy.CATEGORY, Metric.UNITS, 10);
+
+		assertEquals(0, engine.topK(columns.snapshot(), paidUnits).size());
+
+		columns.setStatus(0, (byte) OrderStatus.PAID.ordinal());
+		columns.publish();
+
+		List<ColumnarQueryEngine.Entry> top = engine.topK(columns.snapshot(), paidUnits);
+		assertEquals(1, top.size());
+		assertEquals(1, top.get(0).key());
+		assertEquals(2.0, top.get(0).value());
+	}
+}
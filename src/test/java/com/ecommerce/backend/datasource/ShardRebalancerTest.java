@@ -0,0 +1,144 @@
+package com.ecommerce.backend.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecommerce.backend.dto.BucketMoveResultDTO;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// Two throwaway local Postgres servers as shard 0 and shard 1
+class ShardRebalancerTest {
+
+	private static final String[] SCHEMA = {
+			"CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, order_date TIMESTAMP NOT NULL, "
+					+ "status VARCHAR(20) NOT NULL, total_amount DOUBLE PRECISION NOT NULL)",
+			"CREATE TABLE order_items (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+					+ "order_id BIGINT NOT NULL REFERENCES orders(id), product_id BIGINT NOT NULL, "
+					+ "quantity INT NOT NULL, price_at_order DOUBLE PRECISION NOT NULL)",
+			"CREATE TABLE carts (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, user_id BIGINT NOT NULL UNIQUE, "
+					+ "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)",
+			"CREATE TABLE cart_items (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+					+ "cart_id BIGINT NOT NULL REFERENCES carts(id), product_id BIGINT NOT NULL, "
+					+ "quantity INT NOT NULL, price_at_add DOUBLE PRECISION NOT NULL)"};
+
+	private static EmbeddedPostgres shard0;
+	private static EmbeddedPostgres shard1;
+
+	private ShardDataSources shardDataSources;
+	private ShardDirectory directory;
+
+	@BeforeAll
+	static void startDatabases() throws IOException {
+		shard0 = EmbeddedPostgres.start();
+		shard1 = EmbeddedPostgres.start();
+	}
+
+	@AfterAll
+	static void stopDatabases() throws IOException {
+		shard0.close();
+		shard1.close();
+	}
+
+	@BeforeEach
+	void createSchema() {
+		shardDataSources = new ShardDataSources(
+				List.of(shard0.getPostgresDatabase(), shard1.getPostgresDatabase()), true);
+		for (DataSource dataSource : shardDataSources.all()) {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+			jdbcTemplate.execute("DROP TABLE IF EXISTS cart_items, carts, order_items, orders, shard_buckets");
+			for (String ddl : SCHEMA) {
+				jdbcTemplate.execute(ddl);
+			}
+		}
+		directory = new ShardDirectory(shardDataSources);
+		new ShardSchemaInitializer(shardDataSources, directory, null).initialize();
+	}
+
+	@Test
+	void routesConnectionsByShardContext() {
+		new JdbcTemplate(shard1.getPostgresDatabase()).update(
+				"INSERT INTO orders VALUES (1025, 7, now(), 'PENDING', 10)");
+		JdbcTemplate routed = new JdbcTemplate(new ShardRoutingDataSource(shardDataSources.all()));
+
+		assertEquals(0, count(routed, "orders"));
+		assertEquals(1, ShardContext.callOn(1, () -> count(routed, "orders")));
+		assertEquals(0, count(routed, "orders"));
+	}
+
+	@Test
+	void movesBucketWithIdsIntact() {
+		long userId = 42;
+		int bucket = ShardKeys.bucketOfUser(userId);
+		int source = directory.shardForBucket(bucket);
+		int target = 1 - source;
+
+		JdbcTemplate sourceDb = new JdbcTemplate(shardDataSources.get(source));
+		long orderId = ShardKeys.orderId(1000, bucket);
+		sourceDb.update("INSERT INTO orders VALUES (?, ?, now(), 'PENDING', 30)", orderId, userId);
+		sourceDb.update("INSERT INTO order_items (order_id, product_id, quantity, price_at_order) VALUES (?, 5, 3, 10)", orderId);
+		sourceDb.update("INSERT INTO carts (user_id, created_at, updated_at) VALUES (?, now(), now())", userId);
+		// Another bucket's user stays put
+		long otherUser = otherUserThan(bucket);
+		sourceDb.update("INSERT INTO carts (user_id, created_at, updated_at) VALUES (?, now(), now())", otherUser);
+
+		BucketMoveResultDTO result = new ShardRebalancer(shardDataSources, directory, 0).moveBucket(bucket, target);
+
+		assertEquals(1, result.getUsers());
+		assertEquals(1, result.getRowsCopied().get("orders"));
+		assertEquals(1, result.getRowsCopied().get("order_items"));
+		assertTrue(result.isSourceCleaned());
+		assertEquals(target, directory.shardForOrder(orderId));
+		assertEquals(target, directory.shardForUser(userId));
+
+		JdbcTemplate targetDb = new JdbcTemplate(shardDataSources.get(target));
+		assertEquals(userId, targetDb.queryForObject("SELECT user_id FROM orders WHERE id = ?", Long.class, orderId));
+		assertEquals(0, count(sourceDb, "orders"));
+		assertEquals(1, count(sourceDb, "carts"));
+		assertEquals(1, count(targetDb, "carts"));
+
+		// A fresh directory (another instance) reads the move from shard 0
+		ShardDirectory other = new ShardDirectory(shardDataSources);
+		other.refresh();
+		assertEquals(target, other.shardForBucket(bucket));
+	}
+
+	@Test
+	void refusesToMoveOrdersWithPreShardingIds() {
+		long userId = 42;
+		int bucket = ShardKeys.bucketOfUser(userId);
+		int source = directory.shardForBucket(bucket);
+		new JdbcTemplate(shardDataSources.get(source)).update(
+				"INSERT INTO orders VALUES (?, ?, now(), 'PAID', 30)", ShardKeys.orderId(1, bucket) + 1, userId);
+
+		ShardRebalancer rebalancer = new ShardRebalancer(shardDataSources, directory, 0);
+		assertThrows(RuntimeException.class, () -> rebalancer.moveBucket(bucket, 1 - source));
+		assertEquals(source, directory.shardForBucket(bucket));
+		assertFalse(directory.isMoving(bucket));
+	}
+
+	private static long otherUserThan(int bucket) {
+		long userId = 1;
+		while (ShardKeys.bucketOfUser(userId) == bucket) {
+			userId++;
+		}
+		return userId;
+	}
+
+	private static int count(JdbcTemplate jdbcTemplate, String table) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+	}
+}
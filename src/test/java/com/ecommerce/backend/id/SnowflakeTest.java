@@ -0,0 +1,94 @@
+package com.ecommerce.backend.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.backend.datasource.ShardKeys;
+
+class SnowflakeTest {
+
+	private final AtomicLong clock = new AtomicLong(Snowflake.EPOCH_MS + 1_000_000);
+
+	@Test
+	void encodesTimestampAndNode() {
+		Snowflake snowflake = new Snowflake(5, 10, 12, 2000, clock::get);
+
+		long id = snowflake.nextId();
+		assertEquals(clock.get(), Snowflake.timestampOf(id, 22));
+		assertEquals(5, (id >>> 12) & 1023);
+	}
+
+	@Test
+	void sequenceOverflowCarriesIntoNextMillisecond() {
+		Snowflake snowflake = new Snowflake(0, 6, 6, 2000, clock::get);
+
+		long previous = snowflake.nextId();
+		for (int i = 0; i < 200; i++) {
+			long next = snowflake.nextId();
+			assertTrue(next > previous);
+			previous = next;
+		}
+		// 200 ids at 64 per ms ran three ms ahead of the (frozen) clock
+		assertEquals(clock.get() + 3, Snowflake.timestampOf(previous, 12));
+	}
+
+	@Test
+	void staysMonotonicWhenClockStepsBack() {
+		Snowflake snowflake = new Snowflake(0, 10, 12, 2000, clock::get);
+
+		long before = snowflake.nextId();
+		clock.addAndGet(-5);
+		assertTrue(snowflake.nextId() > before);
+
+		clock.addAndGet(-5000);
+		assertThrows(IllegalStateException.class, snowflake::nextId);
+	}
+
+	@Test
+	void sleepsUntilClockCatchesUp() {
+		AtomicLong behind = new AtomicLong();
+		Snowflake snowflake = new Snowflake(0, 10, 12, 2000, () -> System.currentTimeMillis() - behind.get());
+
+		long before = snowflake.nextId();
+		behind.set(50);
+		long started = System.nanoTime();
+		assertTrue(snowflake.nextId() > before);
+		assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(30));
+	}
+
+	@Test
+	void uniqueAcrossThreads() throws InterruptedException {
+		Snowflake snowflake = new Snowflake(1, 10, 12);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 50_000; i++) {
+					ids.add(snowflake.nextId());
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		assertEquals(200_000, ids.size());
+	}
+
+	@Test
+	void orderIdsKeepBucketInLowBits() {
+		Snowflake snowflake = new Snowflake(3, 6, 6, 2000, clock::get);
+
+		long orderId = ShardKeys.orderId(snowflake.nextId(), 517);
+		assertEquals(517, ShardKeys.bucketOfOrder(orderId));
+		assertTrue(orderId > 0);
+	}
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.backend.popularity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class ProductViewCountingTest {
+
+	@Test
+	void concurrentIncrementsAreAllDrained() throws Exception {
+		LongAdderMap views = new LongAdderMap(8);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		Map<Long, Long> drained = new HashMap<>();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int seed = t;
+				futures.add(executor.submit(() -> {
+					Random random = new Random(seed);
+					for (int i = 0; i < 200_000; i++) {
+						// Skewed: a few hot products and a long tail that keeps growing the tables
+						views.increment(random.nextInt(4) == 0 ? random.nextInt(10) : random.nextInt(50_000));
+					}
+				}));
+			}
+			// Drain while writers are running; nothing may be lost across the swaps
+			for (int i = 0; i < 20; i++) {
+				views.drain((key, count) -> drained.merge(key, count, Long::sum));
+				Thread.sleep(5);
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		// Twice: late increments to a swapped-out table surface one drain later
+		views.drain((key, count) -> drained.merge(key, count, Long::sum));
+		views.drain((key, count) -> drained.merge(key, count, Long::sum));
+
+		assertEquals(8 * 200_000L, drained.values().stream().mapToLong(Long::longValue).sum());
+		assertEquals(0, views.size());
+	}
+
+	@Test
+	void trendingFollowsRecentViews() {
+		long hour = 3_600_000L;
+		DecayingTopK sketch = new DecayingTopK(4, 4096, 20, hour, 0);
+		Random random = new Random(7);
+
+		// Product 1 was hot yesterday, product 2 is hot now; 100k cold products are noise
+		for (int i = 0; i < 100_000; i++) {
+			sketch.add(1_000 + random.nextInt(100_000), 1, 0);
+		}
+		sketch.add(1, 5_000, 0);
+		long now = 24 * hour;
+		sketch.add(2, 500, now);
+		for (int i = 0; i < 1_000; i++) {
+			sketch.add(1_000 + random.nextInt(100_000), 1, now);
+		}
+
+		List<DecayingTopK.Tracked> top = sketch.top(3, now);
+		assertEquals(2, top.get(0).key());
+		// 500 views just now; Count-Min only ever overestimates
+		assertTrue(top.get(0).score() >= 500 && top.get(0).score() < 520, "score " + top.get(0).score());
+		// 5000 views 24 half-lives ago are worth next to nothing
+		assertTrue(top.stream().noneMatch(entry -> entry.key() == 1 && entry.score() > 1));
+	}
+}
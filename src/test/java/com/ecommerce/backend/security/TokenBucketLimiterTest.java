@@ -0,0 +1,52 @@
+package com.ecommerce.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+	@Test
+	void allowsBurstThenRejectsUntilRefill() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1.0, clock::get);
+
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("a"));
+
+		long wait = limiter.tryAcquire("a");
+		assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+
+		clock.addAndGet(wait);
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a") > 0);
+	}
+
+	@Test
+	void keysAreIndependent() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1.0, clock::get);
+
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertTrue(limiter.tryAcquire("a") > 0);
+		assertEquals(0, limiter.tryAcquire("b"));
+	}
+
+	@Test
+	void evictsOnlyFullyRefilledKeys() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 1.0, clock::get);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("a");
+
+		assertEquals(0, limiter.evictIdle());
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		assertEquals(1, limiter.evictIdle());
+		assertEquals(0, limiter.size());
+	}
+}
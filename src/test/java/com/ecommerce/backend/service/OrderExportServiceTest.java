@@ -0,0 +1,195 @@
+package com.ecommerce.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.ecommerce.backend.datasource.ShardDataSources;
+import com.ecommerce.backend.entity.OrderStatus;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// 10M order lines on two throwaway shards; run with -Dtest.excluded-groups= (see pom.xml)
+@Tag("slow")
+class OrderExportServiceTest {
+
+	private static final int ORDERS_PER_SHARD = 500_000;
+	private static final int ITEMS_PER_ORDER = 10;
+	private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+	private static final int FETCH_SIZE = 5000;
+
+	private static EmbeddedPostgres shard0;
+	private static EmbeddedPostgres shard1;
+	private static OrderExportService exportService;
+	// One entry per executed query: did it run as a cursor (fetch size in a transaction)?
+	private static final List<QueryRecord> queries = new CopyOnWriteArrayList<>();
+
+	@BeforeAll
+	static void seed() throws IOException {
+		shard0 = EmbeddedPostgres.start();
+		shard1 = EmbeddedPostgres.start();
+		List<EmbeddedPostgres> shards = List.of(shard0, shard1);
+		for (int shard = 0; shard < shards.size(); shard++) {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(shards.get(shard).getPostgresDatabase());
+			jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, user_id BIGINT NOT NULL, "
+					+ "order_date TIMESTAMP NOT NULL, status VARCHAR(20) NOT NULL, "
+					+ "total_amount DOUBLE PRECISION NOT NULL, paid_at TIMESTAMP)");
+			jdbcTemplate.execute("CREATE TABLE order_items (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, "
+					+ "product_id BIGINT NOT NULL, quantity INT NOT NULL, price_at_order DOUBLE PRECISION NOT NULL)");
+			// Shards interleave in time: shard 0 has the even seconds, shard 1 the odd ones
+			jdbcTemplate.update("INSERT INTO orders "
+					+ "SELECT g * 2 + ?, g % 1000, ?::timestamp + (g * 2 + ?) * interval '1 second', "
+					+ "CASE WHEN g % 3 = 0 THEN 'PAID' ELSE 'PENDING' END, 25.5, NULL "
+					+ "FROM generate_series(1, ?) g", shard, START, shard, ORDERS_PER_SHARD);
+			jdbcTemplate.update("INSERT INTO order_items "
+					+ "SELECT o.id * 100 + i, o.id, i, 1 + i % 3, 2.55 "
+					+ "FROM orders o CROSS JOIN generate_series(1, ?) i", ITEMS_PER_ORDER);
+			jdbcTemplate.execute("ANALYZE");
+		}
+		exportService = new OrderExportService(new ShardDataSources(
+				List.of(recording(shard0.getPostgresDatabase()), recording(shard1.getPostgresDatabase())), true),
+				FETCH_SIZE, 2);
+	}
+
+	@AfterAll
+	static void stopDatabases() throws IOException {
+		shard0.close();
+		shard1.close();
+	}
+
+	@Test
+	void streamsTenMillionLinesThroughShardCursors() throws IOException {
+		queries.clear();
+		LineCheckingStream out = new LineCheckingStream();
+
+		long lines = exportService.writeCsv(out, START, START.plusYears(1), null, false);
+
+		assertEquals(2L * ORDERS_PER_SHARD * ITEMS_PER_ORDER, lines);
+		assertEquals(lines + 1, out.lines);
+		assertTrue(out.ordered, "lines must be merged across shards in order date order");
+		// pgjdbc only fetches in batches with a fetch size and autocommit off; otherwise it
+		// materializes all 5M rows of a shard before returning the first one
+		assertEquals(2, queries.size());
+		for (QueryRecord query : queries) {
+			assertEquals(FETCH_SIZE, query.fetchSize());
+			assertFalse(query.autoCommit(), "cursor needs a transaction");
+		}
+	}
+
+	@Test
+	void filtersByStatusAndCompresses() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long lines = exportService.writeCsv(out, START, START.plusHours(1), OrderStatus.PAID, true);
+
+		// Each shard has g = 1..1799 in the first hour, every third one PAID
+		assertEquals(2L * 599 * ITEMS_PER_ORDER, lines);
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+			assertEquals(OrderExportService.HEADER, reader.readLine());
+			String line;
+			int read = 0;
+			while ((line = reader.readLine()) != null) {
+				assertEquals("PAID", line.split(",")[3]);
+				read++;
+			}
+			assertEquals(lines, read);
+		}
+	}
+
+	private record QueryRecord(int fetchSize, boolean autoCommit) {
+	}
+
+	// Notes the fetch size and autocommit mode each statement is executed with
+	private static DataSource recording(DataSource dataSource) {
+		return new DelegatingDataSource(dataSource) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				Connection connection = super.getConnection();
+				return proxy(Connection.class, connection, (method, args, result) -> {
+					if (result instanceof PreparedStatement statement) {
+						return proxy(PreparedStatement.class, statement, (statementMethod, statementArgs, rs) -> {
+							if (statementMethod.getName().equals("executeQuery")) {
+								queries.add(new QueryRecord(statement.getFetchSize(), connection.getAutoCommit()));
+							}
+							return rs;
+						});
+					}
+					return result;
+				});
+			}
+		};
+	}
+
+	private interface AfterCall {
+		Object apply(Method method, Object[] args, Object result) throws SQLException;
+	}
+
+	private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+			try {
+				return afterCall.apply(method, args, method.invoke(target, args));
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}));
+	}
+
+	// Discards the bytes, counting lines and checking order date order
+	private static final class LineCheckingStream extends OutputStream {
+
+		private final StringBuilder line = new StringBuilder();
+		private long lines;
+		private boolean ordered = true;
+		private String previousDate = "";
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			for (int i = off; i < off + len; i++) {
+				write(b[i]);
+			}
+		}
+
+		@Override
+		public void write(int b) {
+			if (b != '\n') {
+				line.append((char) b);
+				return;
+			}
+			lines++;
+			if (lines > 1) {
+				String date = line.toString().split(",", 4)[2];
+				ordered &= date.compareTo(previousDate) >= 0;
+				previousDate = date;
+			}
+			line.setLength(0);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package com.ecommerce.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.ecommerce.backend.BackendApplication;
+import com.ecommerce.backend.dto.AddToCartRequestDTO;
+import com.ecommerce.backend.entity.Category;
+import com.ecommerce.backend.entity.Product;
+import com.ecommerce.backend.entity.User;
+import com.ecommerce.backend.repository.CategoryRepository;
+import com.ecommerce.backend.repository.ProductRepository;
+import com.ecommerce.backend.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.stripe.model.Event;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// The application on a throwaway local Postgres; one inbox batch mixing a valid payment,
+// a duplicate event for it, redeliveries for paid and cancelled orders and an order out of stock
+class WebhookInboxProcessorTest {
+
+	private static EmbeddedPostgres postgres;
+	private static ConfigurableApplicationContext context;
+	private static JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	static void startApplication() throws IOException {
+		postgres = EmbeddedPostgres.start();
+		byte[] keyBytes = new byte[64];
+		new Random(42).nextBytes(keyBytes);
+		context = new SpringApplicationBuilder(BackendApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+						"spring.jpa.hibernate.ddl-auto=update",
+						"jwt.secret=" + Base64.getEncoder().encodeToString(keyBytes),
+						"jwt.expiration=3600000",
+						"stripe.api.key=sk_test_inbox",
+						"stripe.webhook.secret=whsec_inbox",
+						// The test drives the inbox itself
+						"webhook.inbox.poll-interval-ms=3600000",
+						"logging.level.root=WARN")
+				.run();
+		jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+	}
+
+	@AfterAll
+	static void stopApplication() throws IOException {
+		if (context != null) {
+			context.close();
+		}
+		postgres.close();
+	}
+
+	@Test
+	void acksDuplicatesAndFinishedOrdersAndRetriesOnlyStockFailures() throws Exception {
+		CartService cartService = context.getBean(CartService.class);
+		OrderService orderService = context.getBean(OrderService.class);
+		User user = user();
+		long plenty = product("Plenty", 10);
+		long scarce = product("Scarce", 1);
+
+		cartService.addToCart(user, new AddToCartRequestDTO(plenty, 1));
+		long paidOrder = orderService.placeOrder(user).getOrderId();
+		orderService.markOrderAsPaid(paidOrder);
+		cartService.addToCart(user, new AddToCartRequestDTO(plenty, 1));
+		long cancelledOrder = orderService.placeOrder(user).getOrderId();
+		orderService.cancelOrder(user, cancelledOrder);
+		cartService.addToCart(user, new AddToCartRequestDTO(plenty, 2));
+		long validOrder = orderService.placeOrder(user).getOrderId();
+		cartService.addToCart(user, new AddToCartRequestDTO(scarce, 1));
+		long outOfStockOrder = orderService.placeOrder(user).getOrderId();
+		// Sold elsewhere between checkout and payment
+		jdbcTemplate.update("UPDATE products SET stock_quantity = 0 WHERE id = ?", scarce);
+
+		receive("evt_valid", validOrder);
+		receive("evt_valid_again", validOrder);
+		receive("evt_paid_redelivered", paidOrder);
+		receive("evt_cancelled", cancelledOrder);
+		receive("evt_out_of_stock", outOfStockOrder);
+		context.getBean(WebhookInboxProcessor.class).poll();
+		awaitInboxSettled();
+
+		assertEquals("PAID", orderStatus(validOrder));
+		assertEquals("PAID", orderStatus(paidOrder));
+		assertEquals("CANCELLED", orderStatus(cancelledOrder));
+		assertEquals("PENDING", orderStatus(outOfStockOrder));
+		// 10 - 1 (paid before the batch) - 2 (the valid order, once despite two events)
+		assertEquals(7, stock(plenty));
+		assertEquals(0, stock(scarce));
+
+		assertEquals("PROCESSED", eventStatus("evt_valid"));
+		assertEquals("PROCESSED", eventStatus("evt_valid_again"));
+		assertEquals("PROCESSED", eventStatus("evt_paid_redelivered"));
+		assertEquals("PROCESSED", eventStatus("evt_cancelled"));
+		// Stock may come back, so only this one is retried
+		assertEquals("PENDING", eventStatus("evt_out_of_stock"));
+		assertEquals(1, (int) jdbcTemplate.queryForObject(
+				"SELECT attempts FROM webhook_events WHERE id = 'evt_out_of_stock'", Integer.class));
+	}
+
+	private static User user() {
+		User user = new User();
+		user.setUsername("inbox-user");
+		user.setPassword("not-used");
+		user.setRole("ROLE_USER");
+		return context.getBean(UserRepository.class).save(user);
+	}
+
+	private static long product(String name, int stock) {
+		Category category = new Category();
+		category.setName("Inbox " + name);
+		category = context.getBean(CategoryRepository.class).save(category);
+		Product product = new Product();
+		product.setName(name);
+		product.setPrice(5.0);
+		product.setCategory(category);
+		product.setStockQuantity(stock);
+		return context.getBean(ProductRepository.class).save(product).getId();
+	}
+
+	// Stored as the webhook controller would after verifying the signature
+	private static void receive(String eventId, long orderId) throws IOException {
+		Map<String, Object> paymentIntent = Map.of(
+				"id", "pi_" + eventId,
+				"object", "payment_intent",
+				"amount", 500,
+				"currency", "usd",
+				"status", "succeeded",
+				"metadata", Map.of("orderId", String.valueOf(orderId)));
+		Map<String, Object> event = Map.of(
+				"id", eventId,
+				"object", "event",
+				"api_version", Stripe.API_VERSION,
+				"created", 1735689600,
+				"livemode", false,
+				"type", "payment_intent.succeeded",
+				"data", Map.of("object", paymentIntent));
+		String payload = new ObjectMapper().writeValueAsString(event);
+		context.getBean(WebhookInboxService.class).receive(Event.GSON.fromJson(payload, Event.class), payload);
+	}
+
+	// The batch runs on the processor's worker pool
+	private static void awaitInboxSettled() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 30_000;
+		while (System.currentTimeMillis() < deadline) {
+			List<Integer> open = jdbcTemplate.queryForList("SELECT 1 FROM webhook_events "
+					+ "WHERE status = 'PROCESSING' OR (status = 'PENDING' AND attempts = 0)", Integer.class);
+			if (open.isEmpty()) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+		throw new AssertionError("Inbox batch did not finish within 30 s");
+	}
+
+	private static String orderStatus(long orderId) {
+		return jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?", String.class, orderId);
+	}
+
+	private static int stock(long productId) {
+		return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class,
+				productId);
+	}
+
+	private static String eventStatus(String eventId) {
+		return jdbcTemplate.queryForObject("SELECT status FROM webhook_events WHERE id = ?", String.class, eventId);
+	}
+}